@@ -0,0 +1,1091 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe variant of the quadruply-linked list.
+ * The list is cut into segments, each a run of at most 4096 nodes with short links and long
+ * links 8 positions apart of its own, and each guarded by its own {@code StampedLock}. Segments
+ * are only ever cut on a multiple of 8 positions, at an express link checkpoint, and long links
+ * never cross from one segment into the next, so adding or removing a node only changes the
+ * links of the one segment holding it.
+ *
+ * Positional reads are optimistic. They add up the sizes of the segments before the index,
+ * take the express route through the segment holding it, and then validate the stamps of every
+ * segment they looked at, so readers never write to shared memory and never block writers.
+ * Writers take the write lock of the segment they change and validate the segments before it
+ * the same way. An operation that keeps failing validation falls back to read locks on the
+ * segments it needs. Splitting a segment that has grown too large and dropping one that became
+ * empty change the segment directory, which has a {@code StampedLock} of its own.
+ *
+ * Iterators, toArray() and toString() work on a copy of the whole list taken under read locks,
+ * and searches such as indexOf() walk the list under the same locks. remove(Object),
+ * removeAll() and the other changes that decide what to remove by looking at the elements
+ * hold the write locks of the directory and of every segment. Bulk additions add the elements
+ * one at a time, so other threads may see part of them.
+ *
+ * @author Ariyan Sahebghalam, Eyosyas Andarge, Sadiq Azmi
+ * @param <E> elements type held in this collection
+ */
+public class ConcurrentExpressLinkedList<E> implements List<E> {
+
+	// Distance in nodes spanned by every long link
+	private static final int STRIDE = 8;
+
+	// Most nodes a segment holds before it is split in halves
+	private static final int SPLIT = 4096;
+
+	// Optimistic tries an operation makes before it falls back to locking
+	private static final int ATTEMPTS = 4;
+
+	// Changes made at an index by write()
+	private enum Change {
+		INSERT, REMOVE, SET
+	}
+
+	private static class Node<E> {
+		E element;
+		Node<E> nextShort;
+		Node<E> prevShort;
+		Node<E> nextLong;
+		Node<E> prevLong;
+
+		public Node(E element) {
+			this.element = element;
+		}
+	}
+
+	/**
+	 * A run of consecutive nodes with its own lock. Its methods expect the caller to hold the
+	 * write lock, except node(), which is also safe to call under an optimistic read and then
+	 * returns null if it runs into links that are being changed.
+	 */
+	private static class Segment<E> {
+		final StampedLock lock = new StampedLock();
+		Node<E> head;
+		Node<E> tail;
+		int size;
+
+		Node<E> node(int index) {
+			Node<E> pointer;
+			if (index < size / 2) {
+				int count = 0;
+				pointer = head;
+
+				// Express route
+				while (pointer != null && (count + STRIDE) <= index) {
+					pointer = pointer.nextLong;
+					count += STRIDE;
+				}
+
+				// Normal route
+				while (pointer != null && count < index) {
+					pointer = pointer.nextShort;
+					count++;
+				}
+			}
+			else {
+				int count = size - 1;
+				pointer = tail;
+
+				// Express route
+				while (pointer != null && (count - STRIDE) >= index) {
+					pointer = pointer.prevLong;
+					count -= STRIDE;
+				}
+
+				// Normal route
+				while (pointer != null && count > index) {
+					pointer = pointer.prevShort;
+					count--;
+				}
+			}
+			return pointer;
+		}
+
+		void append(E element) {
+			Node<E> node = new Node<>(element);
+			if (size == 0) {
+				head = node;
+			}
+			else {
+				tail.nextShort = node;
+				node.prevShort = tail;
+				if (size >= STRIDE) {
+					Node<E> partner = size == STRIDE ? head : tail.prevLong.nextShort;
+					partner.nextLong = node;
+					node.prevLong = partner;
+				}
+			}
+			tail = node;
+			size++;
+		}
+
+		void insert(int index, E element) {
+			if (index == size) {
+				append(element);
+				return;
+			}
+			Node<E> current = node(index);
+			Node<E> node = new Node<>(element);
+			Node<E> prev = current.prevShort;
+
+			node.nextShort = current;
+			current.prevShort = node;
+			node.prevShort = prev;
+			if (prev == null) {
+				head = node;
+			}
+			else {
+				prev.nextShort = node;
+			}
+
+			// Only the pairs of nodes a stride apart that straddle the new node need new long links
+			int start = Math.max(index - STRIDE, 0);
+			Node<E> from = node;
+			for (int i = index; i > start; i--) {
+				from = from.prevShort;
+			}
+			relink(from, start, index - start + 1);
+			size++;
+		}
+
+		E remove(int index) {
+			Node<E> pointer = node(index);
+			Node<E> next = pointer.nextShort;
+			Node<E> prev = pointer.prevShort;
+
+			if (prev == null) {
+				head = next;
+			}
+			else {
+				prev.nextShort = next;
+			}
+			if (next == null) {
+				tail = prev;
+			}
+			else {
+				next.prevShort = prev;
+			}
+
+			// Only the pairs of nodes a stride apart that straddle the gap need new long links
+			if (next != null || prev != null) {
+				int start = Math.max(index - STRIDE, 0);
+				Node<E> from = prev == null ? next : prev;
+				for (int i = prev == null ? index : index - 1; i > start; i--) {
+					from = from.prevShort;
+				}
+				relink(from, start, index - start);
+			}
+			size--;
+			return pointer.element;
+		}
+
+		/**
+		 * Makes the given change at the index and returns the element removed or replaced.
+		 */
+		E change(int index, E element, Change change) {
+			switch (change) {
+			case INSERT:
+				insert(index, element);
+				return null;
+			case REMOVE:
+				return remove(index);
+			default:
+				Node<E> node = node(index);
+				E old = node.element;
+				node.element = element;
+				return old;
+			}
+		}
+
+		/**
+		 * Moves the back half of this segment, from a multiple of the stride onwards, into a new
+		 * segment. Only the long links that cross the cut have to be cleared.
+		 */
+		Segment<E> split() {
+			int cut = size / 2 - (size / 2) % STRIDE;
+			Segment<E> back = new Segment<>();
+			back.head = node(cut);
+			back.tail = tail;
+			back.size = size - cut;
+			tail = back.head.prevShort;
+			size = cut;
+			tail.nextShort = null;
+			back.head.prevShort = null;
+
+			Node<E> pointer = tail;
+			for (int i = 0; i < STRIDE; i++) {
+				pointer.nextLong = null;
+				pointer = pointer.prevShort;
+			}
+			pointer = back.head;
+			for (int i = 0; i < STRIDE && pointer != null; i++) {
+				pointer.prevLong = null;
+				pointer = pointer.nextShort;
+			}
+			return back;
+		}
+
+		/**
+		 * Resets the long links of count consecutive nodes starting at the given one, with a
+		 * second pointer running a stride ahead on the short links.
+		 */
+		private void relink(Node<E> from, int fromIndex, int count) {
+			Node<E> lead = from;
+			for (int i = 0; i < STRIDE && lead != null; i++) {
+				if (fromIndex + i < STRIDE) {
+					lead.prevLong = null;
+				}
+				lead = lead.nextShort;
+			}
+
+			for (int i = 0; i < count && from != null; i++) {
+				from.nextLong = lead;
+				if (lead != null) {
+					lead.prevLong = from;
+					lead = lead.nextShort;
+				}
+				from = from.nextShort;
+			}
+		}
+	}
+
+	/**
+	 * Per thread scratch space of an optimistic lookup: the stamps of the segments it looked at,
+	 * and where it found the index.
+	 */
+	private static class Probe {
+		long[] stamps = new long[16];
+		int segment;
+		int offset;
+
+		long[] stamps(int count) {
+			if (stamps.length < count) {
+				stamps = new long[Math.max(count, stamps.length * 2)];
+			}
+			return stamps;
+		}
+	}
+
+	private static final ThreadLocal<Probe> PROBES = ThreadLocal.withInitial(Probe::new);
+
+	// Segments in list order, replaced as a whole under the directory write lock
+	private volatile Segment<E>[] segments;
+
+	// Guards the segment directory, validated or read locked by every operation
+	private final StampedLock directory = new StampedLock();
+
+	/**
+	 * Constructor that creates an empty list
+	 */
+	public ConcurrentExpressLinkedList() {
+		segments = newSegments(1);
+		segments[0] = new Segment<>();
+	}
+
+	/**
+	 * Appends a given Object to the end of the list in constant time, under the write lock of
+	 * the last segment only.
+	 * @param e This is the given item, it should be of the correct generic type
+	 * @return Returns true if the element was added correctly, false otherwise.
+	 */
+	@Override
+	public boolean add(E e) {
+		for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+			long dirStamp = directory.tryOptimisticRead();
+			Segment<E>[] array = segments;
+			Segment<E> last = array[array.length - 1];
+			long stamp = last.lock.writeLock();
+			if (!directory.validate(dirStamp)) {
+				last.lock.unlockWrite(stamp);
+				continue;
+			}
+			last.append(e);
+			boolean full = last.size > SPLIT;
+			last.lock.unlockWrite(stamp);
+			if (full) {
+				restructure(last);
+			}
+			return true;
+		}
+
+		long dirStamp = directory.writeLock();
+		try {
+			Segment<E>[] array = segments;
+			Segment<E> last = array[array.length - 1];
+			long stamp = last.lock.writeLock();
+			last.append(e);
+			split(last, array.length - 1);
+			last.lock.unlockWrite(stamp);
+		}
+		finally {
+			directory.unlockWrite(dirStamp);
+		}
+		return true;
+	}
+
+	/**
+	 * Inserts the specified element at the given index position in the list, shifting the
+	 * element at that index and its following elements one position to the right. Only the
+	 * segment the index falls in is locked.
+	 *
+	 * @param index The index at which the element must be inserted
+	 * @param element The element to be inserted into the specified index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	@Override
+	public void add(int index, E element) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		write(index, element, Change.INSERT);
+	}
+
+	/**
+	 * Remove an item from the list at the given index, shifting the following elements one
+	 * position to the left. Only the segment the index falls in is locked.
+	 *
+	 * @param index Index of the element to be removed
+	 * @return The element given by the index that was supposed to be removed
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E remove(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		return write(index, null, Change.REMOVE);
+	}
+
+	/**
+	 * Returns the element at the given index in the list. The lookup does not lock anything
+	 * unless it is invalidated by writers several times in a row.
+	 *
+	 * @param index Index of the element to be returned
+	 * @return Returns the element corresponding to the given index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		Probe probe = PROBES.get();
+		for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+			long dirStamp = directory.tryOptimisticRead();
+			Segment<E>[] array = segments;
+			if (!probe(array, index, false, probe)) {
+				if (validate(array, array.length, dirStamp, probe)) {
+					throw new IndexOutOfBoundsException();
+				}
+				continue;
+			}
+			Node<E> node = array[probe.segment].node(probe.offset);
+			E element = node == null ? null : node.element;
+			if (node != null && validate(array, probe.segment + 1, dirStamp, probe)) {
+				return element;
+			}
+		}
+
+		long dirStamp = directory.readLock();
+		Segment<E>[] array = segments;
+		long[] stamps = probe.stamps(array.length);
+		int locked = 0;
+		try {
+			int start = 0;
+			for (; locked < array.length; locked++) {
+				Segment<E> segment = array[locked];
+				stamps[locked] = segment.lock.readLock();
+				if (index < start + segment.size) {
+					locked++;
+					return segment.node(index - start).element;
+				}
+				start += segment.size;
+			}
+			throw new IndexOutOfBoundsException();
+		}
+		finally {
+			for (int k = 0; k < locked; k++) {
+				array[k].lock.unlockRead(stamps[k]);
+			}
+			directory.unlockRead(dirStamp);
+		}
+	}
+
+	/**
+	 * Returns the size of the list, meaning how many nodes are in the list.
+	 *
+	 * @return The integer number of nodes in the list
+	 */
+	@Override
+	public int size() {
+		Probe probe = PROBES.get();
+		for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+			long dirStamp = directory.tryOptimisticRead();
+			Segment<E>[] array = segments;
+			probe(array, Integer.MAX_VALUE, false, probe);
+			int size = probe.offset;
+			if (validate(array, array.length, dirStamp, probe)) {
+				return size;
+			}
+		}
+
+		long dirStamp = directory.readLock();
+		try {
+			int size = 0;
+			for (Segment<E> segment : segments) {
+				long stamp = segment.lock.readLock();
+				size += segment.size;
+				segment.lock.unlockRead(stamp);
+			}
+			return size;
+		}
+		finally {
+			directory.unlockRead(dirStamp);
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Empties the list after the call and makes the size 0
+	 */
+	@Override
+	public void clear() {
+		long dirStamp = directory.writeLock();
+		try {
+			Segment<E>[] array = segments;
+			long[] stamps = new long[array.length];
+			for (int k = 0; k < array.length; k++) {
+				stamps[k] = array[k].lock.writeLock();
+			}
+			Segment<E>[] empty = newSegments(1);
+			empty[0] = new Segment<>();
+			segments = empty;
+			for (int k = 0; k < array.length; k++) {
+				array[k].lock.unlockWrite(stamps[k]);
+			}
+		}
+		finally {
+			directory.unlockWrite(dirStamp);
+		}
+	}
+
+	/**
+	 * Returns an iterator over a copy of the list taken when it is called, so it never sees
+	 * later changes and never throws {@code ConcurrentModificationException}.
+	 *
+	 * @return An iterator over the elements the list held when it was called
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterator<E> iterator() {
+		return (Iterator<E>) Arrays.asList(snapshot()).iterator();
+	}
+
+	/**
+	 * Returns a String representation of the list, as it was at one moment.
+	 *
+	 * @return String representation of the list
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(snapshot());
+	}
+
+	/**
+	 * Replaces the element at the given index, under the write lock of the segment holding it.
+	 *
+	 * @param index Index of the element to be replaced
+	 * @param element The element to be stored at the index
+	 * @return The element previously at the index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E set(int index, E element) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		return write(index, element, Change.SET);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return find(o, true) >= 0;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given element, or -1 if there is none,
+	 * as the list was while the search held the read locks of every segment.
+	 *
+	 * @param o The element to look for
+	 * @return The index of its first occurrence, or -1
+	 */
+	@Override
+	public int indexOf(Object o) {
+		return find(o, true);
+	}
+
+	/**
+	 * Returns the index of the last occurrence of the given element, or -1 if there is none,
+	 * as the list was while the search held the read locks of every segment.
+	 *
+	 * @param o The element to look for
+	 * @return The index of its last occurrence, or -1
+	 */
+	@Override
+	public int lastIndexOf(Object o) {
+		return find(o, false);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return Arrays.asList(snapshot()).containsAll(c);
+	}
+
+	/**
+	 * Returns the elements of the list in order in a new array, as they were at one moment.
+	 *
+	 * @return An array holding the elements of the list
+	 */
+	@Override
+	public Object[] toArray() {
+		return snapshot();
+	}
+
+	/**
+	 * Returns the elements of the list in order, as they were at one moment, in the given array
+	 * if they fit, otherwise in a new array of the same runtime type. If the given array is
+	 * longer than the list, the element after the last one is set to null.
+	 *
+	 * @param a The array to fill, or whose type the new array gets
+	 * @return An array holding the elements of the list
+	 * @throws ArrayStoreException In case an element does not fit the type of the array
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] a) {
+		Object[] elements = snapshot();
+		if (a.length < elements.length) {
+			return (T[]) Arrays.copyOf(elements, elements.length, a.getClass());
+		}
+		System.arraycopy(elements, 0, a, 0, elements.length);
+		if (a.length > elements.length) {
+			a[elements.length] = null;
+		}
+		return a;
+	}
+
+	/**
+	 * Appends the elements of the collection in the order of its iterator, one at a time.
+	 *
+	 * @param c The collection whose elements are appended
+	 * @return True if the collection was not empty
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(Collection<? extends E> c) {
+		// Copied first, so adding a list to itself ends
+		Object[] elements = c.toArray();
+		for (Object element : elements) {
+			add((E) element);
+		}
+		return elements.length > 0;
+	}
+
+	/**
+	 * Inserts the elements of the collection in the order of its iterator at the given index,
+	 * one at a time, so changes other threads make before the index meanwhile shift where the
+	 * later ones go.
+	 *
+	 * @param index The index at which the first element is inserted
+	 * @param c The collection whose elements are inserted
+	 * @return True if the collection was not empty
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(int index, Collection<? extends E> c) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+		Object[] elements = c.toArray();
+		for (Object element : elements) {
+			add(index++, (E) element);
+		}
+		return elements.length > 0;
+	}
+
+	/**
+	 * Removes the first occurrence of the given element, under the write locks of the
+	 * directory and every segment.
+	 *
+	 * @param o The element to be removed
+	 * @return True if the list held the element
+	 */
+	@Override
+	public boolean remove(Object o) {
+		return removeWhere(element -> Objects.equals(o, element), false);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		Collection<?> other = c == this ? Arrays.asList(snapshot()) : Objects.requireNonNull(c);
+		return removeWhere(other::contains, true);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		Collection<?> other = c == this ? Arrays.asList(snapshot()) : Objects.requireNonNull(c);
+		return removeWhere(element -> !other.contains(element), true);
+	}
+
+	/**
+	 * Removes every element the filter accepts, in one pass over each segment under the write
+	 * locks of the directory and every segment. The filter must not use this list.
+	 *
+	 * @param filter The test an element has to pass to be removed
+	 * @return True if any element was removed
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		return removeWhere(Objects.requireNonNull(filter), true);
+	}
+
+	@Override
+	public ListIterator<E> listIterator() {
+		return listIterator(0);
+	}
+
+	/**
+	 * Returns a read-only list iterator over a copy of the list taken when it is called,
+	 * starting at the given index, so it never sees later changes and never throws
+	 * {@code ConcurrentModificationException}.
+	 *
+	 * @param index The index of the element the first call to next() returns
+	 * @return A list iterator over the elements the list held when it was called
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public ListIterator<E> listIterator(int index) {
+		return Collections.unmodifiableList((List<E>) Arrays.asList(snapshot())).listIterator(index);
+	}
+
+	/**
+	 * Returns a view of the elements from index fromIndex up to but not including index
+	 * toIndex. Reads and changes made through the view go to this list, shifted by fromIndex,
+	 * and the view counts its own size, so it only stays in step with the list while other
+	 * threads leave the elements up to its end alone.
+	 *
+	 * @param fromIndex The index of the first element of the view
+	 * @param toIndex The index after the last element of the view
+	 * @return A list view of the range
+	 * @throws IndexOutOfBoundsException In case the indices are out of order or out of the list
+	 */
+	@Override
+	public List<E> subList(int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException();
+		}
+		return new SubList(fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * View of a range of the list, returned by subList().
+	 */
+	private class SubList extends AbstractList<E> {
+		private final int offset;
+		private int size;
+
+		SubList(int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+		}
+
+		@Override
+		public E get(int index) {
+			check(index, size);
+			return ConcurrentExpressLinkedList.this.get(offset + index);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			check(index, size);
+			return ConcurrentExpressLinkedList.this.set(offset + index, element);
+		}
+
+		@Override
+		public void add(int index, E element) {
+			check(index, size + 1);
+			ConcurrentExpressLinkedList.this.add(offset + index, element);
+			size++;
+			modCount++;
+		}
+
+		@Override
+		public E remove(int index) {
+			check(index, size);
+			E element = ConcurrentExpressLinkedList.this.remove(offset + index);
+			size--;
+			modCount++;
+			return element;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		private void check(int index, int bound) {
+			if (index < 0 || index >= bound) {
+				throw new IndexOutOfBoundsException();
+			}
+		}
+	}
+
+	/**
+	 * This is a helper method shared by add(int, E), remove(int) and set(int, E). It finds the
+	 * segment holding the index optimistically, upgrades that to the segment's write lock, and
+	 * then checks that neither the segments before it nor the directory changed in the
+	 * meantime. After too many failed tries it locks the directory and the segments up to the
+	 * index.
+	 */
+	private E write(int index, E element, Change change) {
+		boolean insert = change == Change.INSERT;
+		Probe probe = PROBES.get();
+		for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+			long dirStamp = directory.tryOptimisticRead();
+			Segment<E>[] array = segments;
+			if (!probe(array, index, insert, probe)) {
+				if (validate(array, array.length, dirStamp, probe)) {
+					throw new IndexOutOfBoundsException();
+				}
+				continue;
+			}
+			Segment<E> segment = array[probe.segment];
+			long stamp = segment.lock.tryConvertToWriteLock(probe.stamps[probe.segment]);
+			if (stamp == 0L) {
+				continue;
+			}
+			if (!validate(array, probe.segment, dirStamp, probe)) {
+				segment.lock.unlockWrite(stamp);
+				continue;
+			}
+			E data = segment.change(probe.offset, element, change);
+			boolean reshape = segment.size > SPLIT || (segment.size == 0 && array.length > 1);
+			segment.lock.unlockWrite(stamp);
+			if (reshape) {
+				restructure(segment);
+			}
+			return data;
+		}
+
+		// Nothing can pass validation while the directory is write locked, so once the read locks
+		// below are held no other writer is left in the segments up to the index
+		long dirStamp = directory.writeLock();
+		Segment<E>[] array = segments;
+		long[] stamps = probe.stamps(array.length);
+		int locked = 0;
+		try {
+			int start = 0;
+			for (; locked < array.length; locked++) {
+				Segment<E> segment = array[locked];
+				long stamp = segment.lock.readLock();
+				stamps[locked] = stamp;
+				boolean last = locked == array.length - 1;
+				if (index < start + segment.size || (insert && last && index == start + segment.size)) {
+					stamp = segment.lock.tryConvertToWriteLock(stamp);
+					if (stamp == 0L) {
+						segment.lock.unlockRead(stamps[locked]);
+						stamp = segment.lock.writeLock();
+					}
+					E data = segment.change(index - start, element, change);
+					if (segment.size > SPLIT) {
+						split(segment, locked);
+					}
+					else if (segment.size == 0 && array.length > 1) {
+						drop(locked);
+					}
+					segment.lock.unlockWrite(stamp);
+					return data;
+				}
+				start += segment.size;
+			}
+			throw new IndexOutOfBoundsException();
+		}
+		finally {
+			for (int k = 0; k < locked; k++) {
+				array[k].lock.unlockRead(stamps[k]);
+			}
+			directory.unlockWrite(dirStamp);
+		}
+	}
+
+	/**
+	 * This is a helper method that finds the segment holding the index from optimistic reads,
+	 * recording the stamp of every segment it looks at. An index equal to the size is placed at
+	 * the end of the last segment when inserting. When the index is past the end, it returns
+	 * false and leaves the size it saw in offset. Whatever it finds still has to be validated.
+	 */
+	private static boolean probe(Segment<?>[] array, int index, boolean insert, Probe probe) {
+		long[] stamps = probe.stamps(array.length);
+		int start = 0;
+		for (int k = 0; k < array.length; k++) {
+			Segment<?> segment = array[k];
+			stamps[k] = segment.lock.tryOptimisticRead();
+			int size = segment.size;
+			boolean last = k == array.length - 1;
+			if (index < start + size || (insert && last && index == start + size)) {
+				probe.segment = k;
+				probe.offset = index - start;
+				return true;
+			}
+			start += size;
+		}
+		probe.offset = start;
+		return false;
+	}
+
+	/**
+	 * This is a helper method that checks that the first count segments and the directory have
+	 * not been write locked since the given stamps were taken.
+	 */
+	private boolean validate(Segment<E>[] array, int count, long dirStamp, Probe probe) {
+		for (int k = 0; k < count; k++) {
+			if (!array[k].lock.validate(probe.stamps[k])) {
+				return false;
+			}
+		}
+		return directory.validate(dirStamp);
+	}
+
+	/**
+	 * This is a helper method that splits or drops a segment after a writer left it too large
+	 * or empty, under the directory write lock. Another writer may have fixed it already.
+	 */
+	private void restructure(Segment<E> segment) {
+		long dirStamp = directory.writeLock();
+		long stamp = segment.lock.writeLock();
+		try {
+			Segment<E>[] array = segments;
+			for (int k = 0; k < array.length; k++) {
+				if (array[k] == segment) {
+					if (segment.size > SPLIT) {
+						split(segment, k);
+					}
+					else if (segment.size == 0 && array.length > 1) {
+						drop(k);
+					}
+					return;
+				}
+			}
+		}
+		finally {
+			segment.lock.unlockWrite(stamp);
+			directory.unlockWrite(dirStamp);
+		}
+	}
+
+	/**
+	 * Splits the segment at position k of the directory in halves. Needs the directory write
+	 * lock and the segment's write lock.
+	 */
+	private void split(Segment<E> segment, int k) {
+		if (segment.size <= SPLIT) {
+			return;
+		}
+		Segment<E>[] array = segments;
+		Segment<E>[] grown = newSegments(array.length + 1);
+		System.arraycopy(array, 0, grown, 0, k + 1);
+		grown[k + 1] = segment.split();
+		System.arraycopy(array, k + 1, grown, k + 2, array.length - k - 1);
+		segments = grown;
+	}
+
+	/**
+	 * Removes the empty segment at position k from the directory. Needs the directory write
+	 * lock and the segment's write lock.
+	 */
+	private void drop(int k) {
+		Segment<E>[] array = segments;
+		Segment<E>[] shrunk = newSegments(array.length - 1);
+		System.arraycopy(array, 0, shrunk, 0, k);
+		System.arraycopy(array, k + 1, shrunk, k, array.length - k - 1);
+		segments = shrunk;
+	}
+
+	/**
+	 * This is a helper method that copies the elements of the list in order, as they were while
+	 * it held the directory read lock and the read locks of all the segments.
+	 */
+	private Object[] snapshot() {
+		long dirStamp = directory.readLock();
+		Segment<E>[] array = segments;
+		long[] stamps = new long[array.length];
+		int locked = 0;
+		try {
+			int size = 0;
+			for (; locked < array.length; locked++) {
+				stamps[locked] = array[locked].lock.readLock();
+				size += array[locked].size;
+			}
+			Object[] elements = new Object[size];
+			int i = 0;
+			for (Segment<E> segment : array) {
+				for (Node<E> node = segment.head; node != null; node = node.nextShort) {
+					elements[i++] = node.element;
+				}
+			}
+			return elements;
+		}
+		finally {
+			for (int k = 0; k < locked; k++) {
+				array[k].lock.unlockRead(stamps[k]);
+			}
+			directory.unlockRead(dirStamp);
+		}
+	}
+
+	/**
+	 * This is a helper method that returns the index of the first or the last occurrence of the
+	 * element, or -1, walking the list while it holds the directory read lock and the read
+	 * locks of all the segments.
+	 */
+	private int find(Object o, boolean first) {
+		long dirStamp = directory.readLock();
+		Segment<E>[] array = segments;
+		long[] stamps = new long[array.length];
+		int locked = 0;
+		try {
+			int size = 0;
+			for (; locked < array.length; locked++) {
+				stamps[locked] = array[locked].lock.readLock();
+				size += array[locked].size;
+			}
+			if (first) {
+				int index = 0;
+				for (Segment<E> segment : array) {
+					for (Node<E> node = segment.head; node != null; node = node.nextShort) {
+						if (Objects.equals(o, node.element)) {
+							return index;
+						}
+						index++;
+					}
+				}
+			}
+			else {
+				int index = size - 1;
+				for (int k = array.length - 1; k >= 0; k--) {
+					for (Node<E> node = array[k].tail; node != null; node = node.prevShort) {
+						if (Objects.equals(o, node.element)) {
+							return index;
+						}
+						index--;
+					}
+				}
+			}
+			return -1;
+		}
+		finally {
+			for (int k = 0; k < locked; k++) {
+				array[k].lock.unlockRead(stamps[k]);
+			}
+			directory.unlockRead(dirStamp);
+		}
+	}
+
+	/**
+	 * This is a helper method that removes the first element, or every element, that the filter
+	 * accepts, while it holds the directory write lock and the write locks of all the segments.
+	 * Removing every match rebuilds each segment that has one from the elements it keeps, in a
+	 * single pass, and segments left empty are dropped from the directory.
+	 */
+	private boolean removeWhere(Predicate<? super E> filter, boolean all) {
+		long dirStamp = directory.writeLock();
+		Segment<E>[] array = segments;
+		long[] stamps = new long[array.length];
+		int locked = 0;
+		try {
+			for (; locked < array.length; locked++) {
+				stamps[locked] = array[locked].lock.writeLock();
+			}
+			boolean removed = false;
+			for (Segment<E> segment : array) {
+				if (all) {
+					Segment<E> kept = new Segment<>();
+					for (Node<E> node = segment.head; node != null; node = node.nextShort) {
+						if (!filter.test(node.element)) {
+							kept.append(node.element);
+						}
+					}
+					if (kept.size < segment.size) {
+						segment.head = kept.head;
+						segment.tail = kept.tail;
+						segment.size = kept.size;
+						removed = true;
+					}
+					continue;
+				}
+				int offset = 0;
+				for (Node<E> node = segment.head; node != null; node = node.nextShort) {
+					if (filter.test(node.element)) {
+						segment.remove(offset);
+						removed = true;
+						break;
+					}
+					offset++;
+				}
+				if (removed) {
+					break;
+				}
+			}
+
+			if (removed) {
+				int left = 0;
+				for (Segment<E> segment : array) {
+					if (segment.size > 0) {
+						left++;
+					}
+				}
+				if (left < array.length) {
+					Segment<E>[] shrunk = newSegments(Math.max(left, 1));
+					int k = 0;
+					for (Segment<E> segment : array) {
+						if (segment.size > 0) {
+							shrunk[k++] = segment;
+						}
+					}
+					if (left == 0) {
+						shrunk[0] = new Segment<>();
+					}
+					segments = shrunk;
+				}
+			}
+			return removed;
+		}
+		finally {
+			for (int k = 0; k < locked; k++) {
+				array[k].lock.unlockWrite(stamps[k]);
+			}
+			directory.unlockWrite(dirStamp);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> Segment<E>[] newSegments(int length) {
+		return (Segment<E>[]) new Segment<?>[length];
+	}
+
+}
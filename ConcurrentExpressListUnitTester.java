@@ -0,0 +1,244 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.FixMethodOrder;
+import org.junit.runners.MethodSorters;
+import org.junit.Test;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ConcurrentExpressListUnitTester {
+
+	@Test
+	public void addRemoveTester_10_pts() {
+		List<String> list = new ConcurrentExpressLinkedList<>();
+		try{
+			list.add(1, "0");
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+		try{
+			list.remove(0);
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+		list.add(0, "0");
+		list.add(0, "1");
+		list.add(1, "2");
+		list.add("3");
+		assertEquals("[1, 2, 0, 3]", list.toString());
+		assertEquals("2", list.remove(1));
+		assertEquals(3, list.size());
+		assertEquals("3", list.get(2));
+		list.clear();
+		assertTrue(list.isEmpty());
+		try{
+			list.get(0);
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+	}
+
+	@Test
+	public void randomDifferential_25_pts(){
+		ExpressListUnitTester.randomDifferential(new ConcurrentExpressLinkedList<>(), 20000);
+	}
+
+	@Test
+	public void segmentSplitDropTester_10_pts(){
+		// Enough elements for several splits, then removed from the front and the middle so
+		// segments empty out and are dropped
+		List <Integer> list1 = new ArrayList<>();
+		List <Integer> list2 = new ConcurrentExpressLinkedList<>();
+		for (int i = 0; i < 30_000; i++){
+			list1.add(i);
+			list2.add(i);
+		}
+		for (int i = 0; i < 10_000; i++){
+			list1.add(15_000, -i);
+			list2.add(15_000, -i);
+		}
+		for (int i = 0; i < list1.size(); i += 13){
+			assertEquals("segmentSplitDropTester_10_pts: " + i, list1.get(i), list2.get(i));
+		}
+		while (list1.size() > 5_000){
+			assertEquals(list1.remove(0), list2.remove(0));
+			assertEquals(list1.remove(list1.size() / 2), list2.remove(list2.size() / 2));
+		}
+		assertEquals(list1.size(), list2.size());
+		assertEquals(list1.toString(), list2.toString());
+		while (!list1.isEmpty()){
+			assertEquals(list1.remove(list1.size() - 1), list2.remove(list2.size() - 1));
+		}
+		assertEquals("[]", list2.toString());
+		list2.add(5);
+		assertEquals(Integer.valueOf(5), list2.get(0));
+	}
+
+	@Test
+	public void listMethodsTester_10_pts(){
+		// Enough elements for several segments, with every value occurring twice
+		List <Integer> list1 = new ArrayList<>();
+		List <Integer> list2 = new ConcurrentExpressLinkedList<>();
+		for (int i = 0; i < 12_000; i++){
+			list1.add(i % 6_000);
+			list2.add(i % 6_000);
+		}
+		assertEquals(list1, new ArrayList<>(list2));
+		assertArrayEquals(list1.toArray(), list2.toArray());
+		assertArrayEquals(list1.toArray(new Integer[0]), list2.toArray(new Integer[0]));
+		Integer[] longer = new Integer[list1.size() + 2];
+		Arrays.fill(longer, -1);
+		assertSame(longer, list2.toArray(longer));
+		assertNull(longer[list1.size()]);
+		assertEquals(Integer.valueOf(-1), longer[list1.size() + 1]);
+
+		for (int i = 0; i < list1.size(); i += 97){
+			assertEquals(list1.set(i, -i), list2.set(i, -i));
+		}
+		assertTrue(list2.contains(5_999));
+		assertFalse(list2.contains(6_000));
+		assertTrue(list2.containsAll(Arrays.asList(0, 1, 5_999)));
+		for (int value : new int[] {0, 1, 4_100, 5_999, 6_000, -97}){
+			assertEquals(list1.indexOf(value), list2.indexOf(value));
+			assertEquals(list1.lastIndexOf(value), list2.lastIndexOf(value));
+		}
+
+		ListIterator <Integer> it = list2.listIterator(list1.size());
+		for (int i = list1.size() - 1; i >= 0; i--){
+			assertEquals(list1.get(i), it.previous());
+		}
+		try{
+			it.set(1);
+			fail("Exception was to be thrown");
+		}catch (UnsupportedOperationException e){
+			//OK
+		}
+
+		assertEquals(list1.remove(Integer.valueOf(4_100)), list2.remove(Integer.valueOf(4_100)));
+		assertFalse(list2.remove(Integer.valueOf(6_000)));
+		List <Integer> gone = Arrays.asList(3, 4_099, 5_000);
+		assertEquals(list1.removeAll(gone), list2.removeAll(gone));
+		assertEquals(list1.removeIf(value -> value % 5 == 0), list2.removeIf(value -> value % 5 == 0));
+		assertEquals(list1.addAll(100, gone), list2.addAll(100, gone));
+		assertEquals(list1.addAll(list1), list2.addAll(list2));
+		assertEquals(list1, new ArrayList<>(list2));
+
+		List <Integer> view1 = list1.subList(1_000, 2_000);
+		List <Integer> view2 = list2.subList(1_000, 2_000);
+		assertEquals(view1, view2);
+		view1.add(10, 77);
+		view2.add(10, 77);
+		assertEquals(view1.remove(500), view2.remove(500));
+		view1.clear();
+		view2.clear();
+		assertEquals(list1, new ArrayList<>(list2));
+
+		// Keeping only values that are gone empties every segment
+		assertTrue(list2.retainAll(Arrays.asList(-1)));
+		assertTrue(list2.isEmpty());
+		list2.add(5);
+		assertEquals("[5]", list2.toString());
+	}
+
+	@Test
+	public void concurrentAppendTester_10_pts() throws Exception {
+		List <Integer> list = new ConcurrentExpressLinkedList<>();
+		int threads = 8;
+		int each = 20_000;
+		runThreads(threads, t -> {
+			for (int i = 0; i < each; i++){
+				list.add(t * each + i);
+			}
+		});
+		assertEquals(threads * each, list.size());
+
+		// every thread's values appear, in the order that thread appended them
+		int[] last = new int[threads];
+		Arrays.fill(last, -1);
+		for (Integer value : list){
+			int t = value / each;
+			assertTrue("out of order " + value, value % each == last[t] + 1);
+			last[t] = value % each;
+		}
+	}
+
+	@Test
+	public void concurrentMixTester_25_pts() throws Exception {
+		List <Integer> list = new ConcurrentExpressLinkedList<>();
+		int size = 20_000;
+		for (int i = 0; i < size; i++){
+			list.add(i);
+		}
+
+		// Each thread moves elements around with remove(i) and add(j, x) and reads at random
+		// positions, so the list always holds a permutation of 0 to size - 1, give or take the
+		// elements in flight
+		int threads = 8;
+		runThreads(threads, t -> {
+			Random rnd = new Random(t);
+			for (int i = 0; i < 20_000; i++){
+				int position = rnd.nextInt(size - threads);
+				if (rnd.nextInt(4) == 0){
+					Integer value = list.remove(position);
+					list.add(rnd.nextInt(size - threads), value);
+				}
+				else{
+					Integer value = list.get(position);
+					assertTrue("get(" + position + ") = " + value, value != null && value >= 0 && value < size);
+				}
+			}
+		});
+
+		assertEquals(size, list.size());
+		List <Integer> sorted = new ArrayList<>();
+		for (Integer value : list){
+			sorted.add(value);
+		}
+		Collections.sort(sorted);
+		for (int i = 0; i < size; i++){
+			assertEquals(Integer.valueOf(i), sorted.get(i));
+		}
+	}
+
+	interface Task {
+		void run(int thread);
+	}
+
+	/**
+	 * Runs the task on the given number of threads at once and rethrows the first failure.
+	 */
+	static void runThreads(int threads, Task task) throws Exception {
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++){
+			int thread = t;
+			workers[t] = new Thread(() -> {
+				try{
+					task.run(thread);
+				}catch (Throwable e){
+					failure.compareAndSet(null, e);
+				}
+			});
+			workers[t].start();
+		}
+		for (Thread worker : workers){
+			worker.join();
+		}
+		if (failure.get() instanceof Error){
+			throw (Error) failure.get();
+		}
+		if (failure.get() != null){
+			throw new AssertionError(failure.get());
+		}
+	}
+}
@@ -0,0 +1,262 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Lock-free producer/consumer queue with express links.
+ * Appending at the tail and polling at the head follow the Michael-Scott queue: an append
+ * CASes the new node onto the last node's short link, a poll CASes the head forward, and either
+ * helps a lagging tail along. Neither ever blocks, so any number of producers and consumers can
+ * run at once.
+ *
+ * Every node is numbered in the order it was appended. Every 8th node is a checkpoint whose long
+ * link reaches the next checkpoint, 8 positions ahead, and positional get(int) takes those long
+ * links the same way the express route of {@code ExpressLinkedList} does. The long links are
+ * maintained lazily: the producer of a checkpoint links the previous checkpoint to it when it
+ * can do so without waiting, and a lookup that finds a long link missing walks the short links
+ * instead and fills it in for the lookups after it. Long links only ever point forward and never
+ * change once set, so they need no CAS.
+ *
+ * get(int), size() and iteration are weakly consistent: they reflect the queue at some point
+ * during the call, and never throw {@code ConcurrentModificationException}. Null elements are
+ * not permitted. The head of the queue is a placeholder node that keeps the element polled last
+ * until the next poll moves past it.
+ *
+ * @author Ariyan Sahebghalam, Eyosyas Andarge, Sadiq Azmi
+ * @param <E> elements type held in this collection
+ */
+public class ConcurrentExpressQueue<E> extends AbstractQueue<E> {
+
+	// Distance in nodes spanned by every long link
+	private static final int STRIDE = 8;
+
+	private static class Node<E> {
+		final E element;
+		// Number of the node in append order, set before the node is published
+		long seq;
+		volatile Node<E> nextShort;
+		volatile Node<E> nextLong;
+
+		public Node(E element) {
+			this.element = element;
+		}
+	}
+
+	// Placeholder in front of the first element, only ever moved forward by CAS
+	private volatile Node<E> head;
+
+	// Last node or, briefly, a node just before it
+	private volatile Node<E> tail;
+
+	// Checkpoint with the highest number linked so far, where the next checkpoint links from
+	private volatile Node<E> lastCheckpoint;
+
+	private static final VarHandle HEAD;
+	private static final VarHandle TAIL;
+	private static final VarHandle NEXT_SHORT;
+	private static final VarHandle LAST_CHECKPOINT;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			HEAD = lookup.findVarHandle(ConcurrentExpressQueue.class, "head", Node.class);
+			TAIL = lookup.findVarHandle(ConcurrentExpressQueue.class, "tail", Node.class);
+			LAST_CHECKPOINT = lookup.findVarHandle(ConcurrentExpressQueue.class, "lastCheckpoint", Node.class);
+			NEXT_SHORT = lookup.findVarHandle(Node.class, "nextShort", Node.class);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * Constructor that creates an empty queue
+	 */
+	public ConcurrentExpressQueue() {
+		Node<E> placeholder = new Node<>(null);
+		head = placeholder;
+		tail = placeholder;
+		lastCheckpoint = placeholder;
+	}
+
+	/**
+	 * Appends the element at the tail of the queue without blocking.
+	 *
+	 * @param e The element to be appended
+	 * @return Returns true, as the queue is unbounded
+	 * @throws NullPointerException If the element is null
+	 */
+	@Override
+	public boolean offer(E e) {
+		Node<E> node = new Node<>(Objects.requireNonNull(e));
+		for (;;) {
+			Node<E> last = tail;
+			Node<E> next = last.nextShort;
+			if (next != null) {
+				// Another producer linked a node but has not moved the tail yet
+				TAIL.compareAndSet(this, last, next);
+				continue;
+			}
+			node.seq = last.seq + 1;
+			if (NEXT_SHORT.compareAndSet(last, (Node<E>) null, node)) {
+				TAIL.compareAndSet(this, last, node);
+				if (node.seq % STRIDE == 0) {
+					checkpoint(node);
+				}
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the element at the head of the queue without blocking.
+	 *
+	 * @return The first element, or null if the queue is empty
+	 */
+	@Override
+	public E poll() {
+		for (;;) {
+			Node<E> first = head;
+			Node<E> last = tail;
+			Node<E> next = first.nextShort;
+			if (next == null) {
+				return null;
+			}
+			if (first == last) {
+				// The tail must never fall behind the head
+				TAIL.compareAndSet(this, last, next);
+				continue;
+			}
+			if (HEAD.compareAndSet(this, first, next)) {
+				return next.element;
+			}
+		}
+	}
+
+	/**
+	 * Returns the element at the head of the queue without removing it.
+	 *
+	 * @return The first element, or null if the queue is empty
+	 */
+	@Override
+	public E peek() {
+		Node<E> next = head.nextShort;
+		return next == null ? null : next.element;
+	}
+
+	/**
+	 * Returns the element at the given index, counted from the head of the queue as it was when
+	 * the call started. It walks the short links to the first checkpoint, takes the long links
+	 * a stride at a time while that does not overshoot, and finishes with the short links.
+	 *
+	 * @param index Index of the element to be returned
+	 * @return Returns the element corresponding to the given index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or not less than the size
+	 */
+	public E get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		Node<E> pointer = head;
+		long target = pointer.seq + 1 + index;
+
+		// Normal route up to the first checkpoint
+		while (pointer.seq % STRIDE != 0 && pointer.seq < target) {
+			pointer = step(pointer);
+		}
+
+		// Express route
+		while (target - pointer.seq >= STRIDE) {
+			Node<E> next = pointer.nextLong;
+			if (next == null) {
+				next = pointer;
+				for (int i = 0; i < STRIDE; i++) {
+					next = step(next);
+				}
+				pointer.nextLong = next;
+			}
+			pointer = next;
+		}
+
+		// Normal route
+		while (pointer.seq < target) {
+			pointer = step(pointer);
+		}
+		return pointer.element;
+	}
+
+	/**
+	 * Returns the number of elements in the queue, from the numbers of the head and the last
+	 * node. This is constant time unless producers are appending at the same moment.
+	 *
+	 * @return The number of elements in the queue, capped at Integer.MAX_VALUE
+	 */
+	@Override
+	public int size() {
+		Node<E> first = head;
+		Node<E> last = tail;
+		for (Node<E> next = last.nextShort; next != null; next = last.nextShort) {
+			last = next;
+		}
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(0L, last.seq - first.seq));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return head.nextShort == null;
+	}
+
+	/**
+	 * Returns a weakly consistent iterator over the elements from the head to the tail. It does
+	 * not support remove().
+	 *
+	 * @return An iterator that starts at the head of the queue
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private Node<E> next = head.nextShort;
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public E next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				E element = next.element;
+				next = next.nextShort;
+				return element;
+			}
+		};
+	}
+
+	/**
+	 * This is a helper method that links the previous checkpoint to a newly appended one, when
+	 * the previous one is the latest recorded, and records the new one. A producer that falls
+	 * behind leaves the long link to be filled in by get(int).
+	 */
+	private void checkpoint(Node<E> node) {
+		Node<E> previous = lastCheckpoint;
+		if (previous.seq == node.seq - STRIDE) {
+			previous.nextLong = node;
+		}
+		while (previous.seq < node.seq && !LAST_CHECKPOINT.compareAndSet(this, previous, node)) {
+			previous = lastCheckpoint;
+		}
+	}
+
+	private static <E> Node<E> step(Node<E> pointer) {
+		Node<E> next = pointer.nextShort;
+		if (next == null) {
+			throw new IndexOutOfBoundsException();
+		}
+		return next;
+	}
+}
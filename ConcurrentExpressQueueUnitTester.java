@@ -0,0 +1,146 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.FixMethodOrder;
+import org.junit.runners.MethodSorters;
+import org.junit.Test;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ConcurrentExpressQueueUnitTester {
+
+	@Test
+	public void offerPollTester_10_pts() {
+		ConcurrentExpressQueue<String> queue = new ConcurrentExpressQueue<>();
+		assertNull(queue.poll());
+		assertNull(queue.peek());
+		assertTrue(queue.isEmpty());
+		queue.add("1");
+		queue.offer("2");
+		queue.offer("3");
+		assertEquals(3, queue.size());
+		assertEquals("[1, 2, 3]", queue.toString());
+		assertEquals("1", queue.peek());
+		assertEquals("1", queue.poll());
+		assertEquals("3", queue.get(1));
+		assertEquals(2, queue.size());
+		try{
+			queue.get(2);
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+		try{
+			queue.offer(null);
+			fail("Exception was to be thrown");
+		}catch (NullPointerException e){
+			//OK
+		}
+	}
+
+	@Test
+	public void randomDifferential_10_pts() {
+		ConcurrentExpressQueue<Integer> queue = new ConcurrentExpressQueue<>();
+		List<Integer> list = new ArrayList<>();
+		Random rnd = new Random(2023);
+		for (int i = 0; i < 50_000; i++){
+			int op = rnd.nextInt(10);
+			if (op < 4){
+				queue.offer(i);
+				list.add(i);
+			}
+			else if (op < 6){
+				assertEquals(list.isEmpty() ? null : list.remove(0), queue.poll());
+			}
+			else if (!list.isEmpty()){
+				int position = rnd.nextInt(list.size());
+				assertEquals("get(" + position + ")", list.get(position), queue.get(position));
+			}
+			assertEquals(list.size(), queue.size());
+		}
+		assertEquals(list.toString(), queue.toString());
+	}
+
+	@Test
+	public void concurrentProducersConsumers_25_pts() throws Exception {
+		ConcurrentExpressQueue<Integer> queue = new ConcurrentExpressQueue<>();
+		int producers = 4;
+		int each = 50_000;
+		AtomicInteger consumed = new AtomicInteger();
+		Queue<int[]> seen = new ConcurrentLinkedQueue<>();
+
+		// Producers append their own increasing values while consumers poll, and every consumer
+		// must see the values of each producer in increasing order
+		ConcurrentExpressListUnitTester.runThreads(producers * 2, t -> {
+			if (t < producers){
+				for (int i = 0; i < each; i++){
+					queue.offer(t * each + i);
+				}
+				return;
+			}
+			int[] last = new int[producers];
+			Arrays.fill(last, -1);
+			int count = 0;
+			while (consumed.get() < producers * each){
+				Integer value = queue.poll();
+				if (value == null){
+					Thread.yield();
+					continue;
+				}
+				consumed.incrementAndGet();
+				int producer = value / each;
+				assertTrue("out of order " + value, value % each > last[producer]);
+				last[producer] = value % each;
+				count++;
+			}
+			seen.add(new int[] {count});
+		});
+		int total = 0;
+		for (int[] count : seen){
+			total += count[0];
+		}
+		assertEquals(producers * each, total);
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void concurrentGetTester_10_pts() throws Exception {
+		ConcurrentExpressQueue<Integer> queue = new ConcurrentExpressQueue<>();
+		Queue<Integer> mirror = new ArrayDeque<>();
+
+		// One producer appends 0, 1, 2, ... while readers check that any index they can reach
+		// holds its own number
+		ConcurrentExpressListUnitTester.runThreads(4, t -> {
+			if (t == 0){
+				for (int i = 0; i < 100_000; i++){
+					queue.offer(i);
+				}
+				return;
+			}
+			Random rnd = new Random(t);
+			for (int i = 0; i < 20_000; i++){
+				int size = queue.size();
+				if (size > 0){
+					int position = rnd.nextInt(size);
+					assertEquals(Integer.valueOf(position), queue.get(position));
+				}
+			}
+		});
+		for (int i = 0; i < 100_000; i++){
+			mirror.add(i);
+		}
+		assertEquals(100_000, queue.size());
+		assertEquals(Integer.valueOf(99_999), queue.get(99_999));
+		for (int i = 0; i < 50_000; i++){
+			assertEquals(mirror.poll(), queue.poll());
+		}
+		assertEquals(Integer.valueOf(70_000), queue.get(20_000));
+	}
+}
@@ -0,0 +1,208 @@
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of list elements, for {@code MappedExpressLinkedList} and for the streams
+ * written by {@code ExpressLinkedList.writeTo}. A fixed-width codec encodes every element in
+ * exactly width() bytes, written and read at an absolute offset of a buffer, so the buffer's
+ * position and limit are never touched.
+ *
+ * A variable-width codec returns 0 from width() and can only be used for streams. It overrides
+ * put() and get() instead of write() and read(), and its encoding must tell where an element
+ * ends. put() and get() throw when the buffer has too little room or data left for the element,
+ * before consuming any of it, and the stream flushes or refills the buffer and calls them again.
+ *
+ * @author Ariyan Sahebghalam, Eyosyas Andarge, Sadiq Azmi
+ * @param <E> elements type encoded
+ */
+public interface ElementCodec<E> {
+
+	/**
+	 * Codec for non-null Integer elements, 4 bytes each
+	 */
+	ElementCodec<Integer> INT = new ElementCodec<Integer>() {
+		@Override
+		public int width() {
+			return Integer.BYTES;
+		}
+
+		@Override
+		public void write(ByteBuffer buffer, int offset, Integer element) {
+			buffer.putInt(offset, element);
+		}
+
+		@Override
+		public Integer read(ByteBuffer buffer, int offset) {
+			return buffer.getInt(offset);
+		}
+	};
+
+	/**
+	 * Codec for non-null Long elements, 8 bytes each
+	 */
+	ElementCodec<Long> LONG = new ElementCodec<Long>() {
+		@Override
+		public int width() {
+			return Long.BYTES;
+		}
+
+		@Override
+		public void write(ByteBuffer buffer, int offset, Long element) {
+			buffer.putLong(offset, element);
+		}
+
+		@Override
+		public Long read(ByteBuffer buffer, int offset) {
+			return buffer.getLong(offset);
+		}
+	};
+
+	/**
+	 * Returns the number of bytes every element takes.
+	 *
+	 * @return The width of an encoded element, or 0 for a variable-width codec
+	 */
+	int width();
+
+	/**
+	 * Writes the element into width() bytes of the buffer starting at the offset.
+	 *
+	 * @param buffer The buffer to write into
+	 * @param offset The absolute offset of the first byte
+	 * @param element The element to be written
+	 * @throws IllegalArgumentException If the element cannot be encoded in width() bytes
+	 */
+	void write(ByteBuffer buffer, int offset, E element);
+
+	/**
+	 * Reads an element from width() bytes of the buffer starting at the offset.
+	 *
+	 * @param buffer The buffer to read from
+	 * @param offset The absolute offset of the first byte
+	 * @return The element read
+	 */
+	E read(ByteBuffer buffer, int offset);
+
+	/**
+	 * Writes the element at the buffer's position and moves the position past it.
+	 *
+	 * @param buffer The buffer to write into
+	 * @param element The element to be written
+	 * @throws BufferOverflowException If the buffer has too little room left, in which case nothing was written
+	 */
+	default void put(ByteBuffer buffer, E element) {
+		int width = width();
+		if (buffer.remaining() < width) {
+			throw new BufferOverflowException();
+		}
+		write(buffer, buffer.position(), element);
+		buffer.position(buffer.position() + width);
+	}
+
+	/**
+	 * Reads an element at the buffer's position and moves the position past it.
+	 *
+	 * @param buffer The buffer to read from
+	 * @return The element read
+	 * @throws BufferUnderflowException If the buffer holds too little of the element, in which case nothing was read
+	 */
+	default E get(ByteBuffer buffer) {
+		int width = width();
+		if (buffer.remaining() < width) {
+			throw new BufferUnderflowException();
+		}
+		E element = read(buffer, buffer.position());
+		buffer.position(buffer.position() + width);
+		return element;
+	}
+
+	/**
+	 * Returns a variable-width codec for non-null Strings of any length, stored as a 4 byte
+	 * length followed by the UTF-8 bytes. It can only be used for streams.
+	 *
+	 * @return A codec of width 0
+	 */
+	static ElementCodec<String> utf8() {
+		return new ElementCodec<String>() {
+			@Override
+			public int width() {
+				return 0;
+			}
+
+			@Override
+			public void write(ByteBuffer buffer, int offset, String element) {
+				throw new UnsupportedOperationException("Variable width codec");
+			}
+
+			@Override
+			public String read(ByteBuffer buffer, int offset) {
+				throw new UnsupportedOperationException("Variable width codec");
+			}
+
+			@Override
+			public void put(ByteBuffer buffer, String element) {
+				byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+				if (buffer.remaining() < Integer.BYTES + bytes.length) {
+					throw new BufferOverflowException();
+				}
+				buffer.putInt(bytes.length);
+				buffer.put(bytes);
+			}
+
+			@Override
+			public String get(ByteBuffer buffer) {
+				if (buffer.remaining() < Integer.BYTES) {
+					throw new BufferUnderflowException();
+				}
+				int length = buffer.getInt(buffer.position());
+				if (length < 0) {
+					throw new IllegalArgumentException("Negative length " + length);
+				}
+				if (buffer.remaining() - Integer.BYTES < length) {
+					throw new BufferUnderflowException();
+				}
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		};
+	}
+
+	/**
+	 * Returns a codec for non-null Strings of at most the given number of UTF-8 bytes, stored
+	 * as a 2 byte length followed by the bytes and padding.
+	 *
+	 * @param maxBytes The longest encoded String accepted, between 0 and 65535
+	 * @return A codec of width maxBytes + 2
+	 */
+	static ElementCodec<String> utf8(int maxBytes) {
+		if (maxBytes < 0 || maxBytes > 0xFFFF) {
+			throw new IllegalArgumentException("maxBytes " + maxBytes);
+		}
+		return new ElementCodec<String>() {
+			@Override
+			public int width() {
+				return maxBytes + 2;
+			}
+
+			@Override
+			public void write(ByteBuffer buffer, int offset, String element) {
+				byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+				if (bytes.length > maxBytes) {
+					throw new IllegalArgumentException("Longer than " + maxBytes + " bytes: " + element);
+				}
+				buffer.putShort(offset, (short) bytes.length);
+				buffer.put(offset + 2, bytes);
+			}
+
+			@Override
+			public String read(ByteBuffer buffer, int offset) {
+				byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+				buffer.get(offset + 2, bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		};
+	}
+}
@@ -1,7 +1,33 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Array;
+import java.lang.ref.WeakReference;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Quadruply-linked list implementation of the {@code List}.
@@ -27,151 +53,232 @@ public class ExpressLinkedList<E> implements List<E>  {
 		}
 	}
 
-	private Node<E> head;
-
-	private Node<E> tail;
+	/**
+	 * Node created while a snapshot could still be read, which records how many snapshots had
+	 * been taken by then. Nodes created at other times are in every snapshot taken after them.
+	 */
+	private static class EpochNode<E> extends Node<E> {
+		final int epoch;
 
-	private int size;
+		public EpochNode(E element, int epoch) {
+			super(element);
+			this.epoch = epoch;
+		}
+	}
 
 	/**
-	 * Constructor that creates an empty list
+	 * Short link and element of a node as they were when a snapshot was taken.
 	 */
-	public ExpressLinkedList() {
-		size = 0;
+	private static class Saved<E> {
+		final Node<E> nextShort;
+		final E element;
+
+		Saved(Node<E> nextShort, E element) {
+			this.nextShort = nextShort;
+			this.element = element;
+		}
 	}
 
 	/**
-	 * Appends a given Object to the end of the list
-	 * @param e This is the given item, it should be of the correct generic type
-	 * @return Returns true if the element was added correctly, false otherwise.
+	 * Node found by a lookup or change, together with its index. It is replaced as a whole with
+	 * a single write, so a thread reading the finger never pairs a node with another's index.
 	 */
-	public boolean add(E e) {
-		Node<E> node = new Node<>(e);
-		if (size == 0) {
-			head = node;
-			tail = node;
-		} else {
-			tail.nextShort = node;
-			node.prevShort = tail;
-			if (size > 7) {
-				Node<E> tempNode = tail;
-				for (int i = 0; i < 7; i++) {
-					tempNode = tempNode.prevShort;
-				}
-				tempNode.nextLong = node;
-				node.prevLong = tempNode;
-			}
-			tail = node;
+	private static class Finger<E> {
+		final Node<E> node;
+		final int index;
+
+		Finger(Node<E> node, int index) {
+			this.node = node;
+			this.index = index;
 		}
-		size++;
-		return true;
 	}
 
 	/**
-	 * Inserts the specified element at the given index position in the list.
-	 * Shifts the element at the index given, and its following elements to its right to
-	 * the right by adding one to their indices. This is the Quadruply LinkedList implementation of the
-	 * method, which is faster for traversal through list than a normal LinkedList or Doubly LinkedList.
-	 * It is faster by making use of a pointer in each node cell that stores the address of 8 nodes ahead and
-	 * behind.
-	 *
-	 * @param index The index at which the element must be inserted
-	 * @param element The element to be inserted into the specified index
-	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 * Read-only view of the list as it was when snapshot() was called. It shares the nodes of
+	 * the list instead of copying them. Before the list changes the short link or the element of
+	 * a node that is older than the latest snapshot, it saves what the node held in that
+	 * snapshot's map, once per node. A snapshot therefore reads a node from the first map that
+	 * has it, going from its own map to the maps of the snapshots taken after it, and from the
+	 * node itself when none does. Nodes added after the snapshot are never reached from it.
+	 * It can be read from any thread while the list keeps changing on its own thread.
 	 */
-	@Override
-	public void add(int index, E element) {
-		if (index < 0 || index > size) {
-			throw new IndexOutOfBoundsException();
-		}
-		if (index == size) {
-			add(element);
-			return;
+	private static class Snapshot<E> extends AbstractList<E> {
+		final Node<E> head;
+		final int size;
+		final int epoch;
+		final ConcurrentHashMap<Node<E>, Saved<E>> saved = new ConcurrentHashMap<>();
+		volatile Snapshot<E> newer;
+
+		// Elements in order, copied on the first positional access
+		private volatile Object[] elements;
+
+		Snapshot(Node<E> head, int size, int epoch) {
+			this.head = head;
+			this.size = size;
+			this.epoch = epoch;
 		}
 
-		Node<E> node = new Node<>(element);
-		Node<E> current = getNode(index);
-
-		if (index == 0) {
-			node.nextShort = head;
-			head.prevShort = node;
-			head = node;
-		} else {
-			Node<E> prev = current.prevShort;
-			node.nextShort = current;
-			current.prevShort = node;
-			node.prevShort = prev;
-			prev.nextShort = node;
-			if (index > 8) {
-				node.prevLong = current.prevLong;
-				current.prevLong.nextLong = node;
-			} else if (index == 8) {
-				node.prevLong = head;
-			}
+		@Override
+		public int size() {
+			return size;
 		}
 
-		// update long links for the 8 nodes before and after the new node
-		Node<E> tempNode = node.prevShort;
-		for (int i = 1; i <= 8 && tempNode != null; i++) {
-			Node<E> longNextNode = tempNode;
-			for (int j = 0; j < 8 && longNextNode != null; j++) {
-				longNextNode = longNextNode.nextShort;
+		@Override
+		public E get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException();
 			}
-			tempNode.nextLong = longNextNode;
-			if (longNextNode != null) {
-				longNextNode.prevLong = tempNode;
+			Object[] copy = elements;
+			if (copy == null) {
+				copy = toArray();
+				elements = copy;
 			}
-			tempNode = tempNode.prevShort;
+			return elementAt(copy, index);
 		}
 
-		tempNode = node.nextShort;
-		for (int i = 1; i <= 8 && tempNode != null; i++) {
-			Node<E> longPrevNode = tempNode;
-			for (int j = 0; j < 8 && longPrevNode != null; j++) {
-				longPrevNode = longPrevNode.prevShort;
+		@Override
+		public Object[] toArray() {
+			Object[] copy = elements;
+			if (copy != null) {
+				return copy.clone();
 			}
-			tempNode.prevLong = longPrevNode;
-			if (longPrevNode != null) {
-				longPrevNode.nextLong = tempNode;
+			copy = new Object[size];
+			int i = 0;
+			for (E element : this) {
+				copy[i++] = element;
 			}
-			tempNode = tempNode.nextShort;
+			return copy;
 		}
 
-		size++;
-	}
+		/**
+		 * Returns an iterator that follows the short links as they were when the snapshot was
+		 * taken, without copying anything.
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			return new Iterator<E>() {
+				private Node<E> node = head;
+				private int remaining = size;
+
+				@Override
+				public boolean hasNext() {
+					return remaining > 0;
+				}
 
+				@Override
+				public E next() {
+					if (remaining == 0) {
+						throw new NoSuchElementException();
+					}
+					Node<E> current = node;
+					Node<E> next = current.nextShort;
+					E element = current.element;
+					// Seeing a changed node implies seeing what was saved before the change
+					VarHandle.acquireFence();
+					for (Snapshot<E> snapshot = Snapshot.this; snapshot != null; snapshot = snapshot.newer) {
+						Saved<E> old = snapshot.saved.get(current);
+						if (old != null) {
+							next = old.nextShort;
+							element = old.element;
+							break;
+						}
+					}
+					node = next;
+					remaining--;
+					return element;
+				}
+			};
+		}
+	}
 
 	/**
-	 * Remove an item from the list at the given index. Shifts the following
-	 * elements to the left of the index to the left by subtracting one from their indices.
-	 * This is the Quadruply LinkedList implementation of the method, which is faster for traversal through list than
-	 * a normal LinkedList or Doubly LinkedList. It is faster by making use of a pointer in each node cell
-	 * that stores the address of 8 nodes ahead and behind.
-	 *
-	 * @param index	Index of the element to be removed
-	 * @return The element given by the index that was supposed to be removed
-	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 * Optional index of sparser express lanes stacked above the long links, in the manner of an
+	 * indexable skip list. Every level keeps about one in 8 of the entries of the level below it,
+	 * so the lanes have strides of roughly 8, 64, 512 and so on. Each entry records how many list
+	 * positions it spans up to the next entry of its level, which is all that has to change when
+	 * a node is added or removed underneath it.
 	 */
-	@Override
-	public E remove(int index) {
+	private static class Lanes<E> {
+		private static final int MAX_LEVELS = 10;
+
+		private static class Lane<E> {
+			Node<E> node;
+			Lane<E> next;
+			Lane<E> down;
+			int span;
+
+			public Lane(Node<E> node, Lane<E> down, int span) {
+				this.node = node;
+				this.down = down;
+				this.span = span;
+			}
+		}
 
-		// In case the index was out of bounds
-		if (index < 0 || index >= size) {
-			throw new IndexOutOfBoundsException();
+		// Sentinel of each level, standing just before index 0
+		private final Lane<E>[] heads;
+
+		// Last entry of each level, whose span reaches the end of the list
+		private final Lane<E>[] tails;
+
+		// Entries left of the insertion point on each level, reused between inserts
+		private final Lane<E>[] update;
+		private final int[] updatePos;
+
+		private int levels;
+
+		private int seed = 0x2545F491;
+
+		public Lanes() {
+			heads = newLanes();
+			tails = newLanes();
+			update = newLanes();
+			updatePos = new int[MAX_LEVELS];
 		}
 
-		Node<E> pointer = null;
-		int count;
+		@SuppressWarnings("unchecked")
+		private static <E> Lane<E>[] newLanes() {
+			return (Lane<E>[]) new Lane<?>[MAX_LEVELS];
+		}
 
-		// Start traversing from the head if the index was closer to the head
-		if (index < size / 2) {
-			pointer = head;
-			count = 0;
+		/**
+		 * Picks how many levels a new node is promoted to, each level with a chance of 1 in 8.
+		 */
+		private int randomLevel() {
+			seed ^= seed << 13;
+			seed ^= seed >>> 17;
+			seed ^= seed << 5;
+			return Math.min(Integer.numberOfTrailingZeros(seed) / 3, MAX_LEVELS);
+		}
+
+		/**
+		 * Returns the node at the given index by descending the levels, then finishing the
+		 * short remaining distance on the long and short links of the list, whose long links
+		 * span the given stride.
+		 */
+		private Node<E> locate(int index, Node<E> head, int stride) {
+			int count = -1;
+			if (levels > 0) {
+				Lane<E> lane = heads[levels - 1];
+				for (int level = levels - 1; level >= 0; level--) {
+					while (lane.next != null && count + lane.span <= index) {
+						count += lane.span;
+						lane = lane.next;
+					}
+					if (level > 0) {
+						lane = lane.down;
+					}
+				}
+				if (count >= 0) {
+					head = lane.node;
+				}
+			}
+			Node<E> pointer = head;
+			count = Math.max(count, 0);
 
 			// Express route
-			while ((count + 8) <= index) {
+			while ((count + stride) <= index) {
 				pointer = pointer.nextLong;
-				count += 8;
+				count += stride;
 			}
 
 			// Normal route
@@ -179,216 +286,1463 @@ public class ExpressLinkedList<E> implements List<E>  {
 				pointer = pointer.nextShort;
 				count++;
 			}
+			return pointer;
 		}
-		// Start traversing from the tail if the index was closer to the tail
-		else {
-			pointer = tail;
-			// Counter used to measure proximity to the specified index
-			count = size - 1;
 
-			// Express route
-			while ((count - 8) >= index) {
-				pointer = pointer.prevLong;
-				count -= 8;
+		/**
+		 * Records a node that was just linked in at the given index of a list that held size
+		 * elements before the insertion.
+		 */
+		private void insert(int index, Node<E> node, int size) {
+			int height = randomLevel();
+			while (levels < height) {
+				Lane<E> sentinel = new Lane<>(null, levels == 0 ? null : heads[levels - 1], size + 1);
+				heads[levels] = sentinel;
+				tails[levels] = sentinel;
+				levels++;
+			}
+			if (levels == 0) {
+				return;
 			}
 
-			// Normal route
-			while (count != index) {
-				pointer = pointer.prevShort;
-				count--;
+			Lane<E> lane = heads[levels - 1];
+			int count = -1;
+			for (int level = levels - 1; level >= 0; level--) {
+				while (lane.next != null && count + lane.span < index) {
+					count += lane.span;
+					lane = lane.next;
+				}
+				update[level] = lane;
+				updatePos[level] = count;
+				if (level > 0) {
+					lane = lane.down;
+				}
 			}
-		}
 
-		E data = pointer.element;
+			Lane<E> down = null;
+			for (int level = 0; level < levels; level++) {
+				Lane<E> prev = update[level];
+				if (level < height) {
+					Lane<E> added = new Lane<>(node, down, updatePos[level] + prev.span + 1 - index);
+					added.next = prev.next;
+					prev.next = added;
+					prev.span = index - updatePos[level];
+					if (added.next == null) {
+						tails[level] = added;
+					}
+					down = added;
+				}
+				else {
+					prev.span++;
+				}
+				update[level] = null;
+			}
+		}
 
-		// Pointer to the left and right of the about to be removed index, to fix the previousLong
-		// and nextLong references of individual nodes
-		Node<E> next = pointer.nextShort;
-		Node<E> prev = pointer.prevShort;
+		/**
+		 * Records a node that was just appended to a list that held size elements before,
+		 * which only involves the last entry of each level.
+		 */
+		private void append(Node<E> node, int size) {
+			int height = randomLevel();
+			while (levels < height) {
+				Lane<E> sentinel = new Lane<>(null, levels == 0 ? null : heads[levels - 1], size + 1);
+				heads[levels] = sentinel;
+				tails[levels] = sentinel;
+				levels++;
+			}
 
-		// In case no node to the left
-		if (prev == null) {
-			head = next;
-		}
-		else {
-			prev.nextShort = next;
-			pointer.prevShort = null;
-			//
-			pointer.prevLong = null;
+			Lane<E> down = null;
+			for (int level = 0; level < levels; level++) {
+				if (level < height) {
+					Lane<E> added = new Lane<>(node, down, 1);
+					tails[level].next = added;
+					tails[level] = added;
+					down = added;
+				}
+				else {
+					tails[level].span++;
+				}
+			}
 		}
 
-		// In case no node to the right
-		if (next == null) {
-			tail = prev;
-		}
-		else {
-			next.prevShort = prev;
-			pointer.nextShort = null;
-			//
-			pointer.nextLong = null;
-		}
+		/**
+		 * Forgets a node that is about to be unlinked from the given index.
+		 */
+		private void remove(int index, Node<E> node) {
+			if (levels == 0) {
+				return;
+			}
+			Lane<E> lane = heads[levels - 1];
+			int count = -1;
+			for (int level = levels - 1; level >= 0; level--) {
+				while (lane.next != null && count + lane.span < index) {
+					count += lane.span;
+					lane = lane.next;
+				}
+				Lane<E> next = lane.next;
+				if (next != null && next.node == node) {
+					lane.span += next.span - 1;
+					lane.next = next.next;
+					if (lane.next == null) {
+						tails[level] = lane;
+					}
+				}
+				else {
+					lane.span--;
+				}
+				if (level > 0) {
+					lane = lane.down;
+				}
+			}
 
-		// Fixing the possible next 8 nodes or less references after the nodes removal
-		count = 1;
-		while (count <= 8 && next != null) {
-			if (next.prevLong == null) {
-				next.prevLong = null;
+			// Drop levels that no longer hold any entries
+			while (levels > 0 && heads[levels - 1].next == null) {
+				levels--;
+				heads[levels] = null;
+				tails[levels] = null;
 			}
-			else if (next.prevLong.prevShort == null) {
-				next.prevLong = null;
+		}
+
+		/**
+		 * Forgets the count nodes from the given index on, which are about to be unlinked
+		 * together. On every level the entries inside the range are dropped and the entry
+		 * before the range spans the gap, so this takes one descent plus the dropped entries.
+		 */
+		private void removeRange(int index, int count) {
+			if (levels == 0) {
+				return;
 			}
-			else {
-				next.prevLong = next.prevLong.prevShort;
+			Lane<E> lane = heads[levels - 1];
+			int position = -1;
+			for (int level = levels - 1; level >= 0; level--) {
+				while (lane.next != null && position + lane.span < index) {
+					position += lane.span;
+					lane = lane.next;
+				}
+				while (lane.next != null && position + lane.span < index + count) {
+					lane.span += lane.next.span;
+					lane.next = lane.next.next;
+				}
+				if (lane.next == null) {
+					tails[level] = lane;
+				}
+				lane.span -= count;
+				if (level > 0) {
+					lane = lane.down;
+				}
 			}
 
-			if (count == 8) {
-				next.prevLong = next.prevShort.prevShort.prevShort.prevShort.prevShort.prevShort.prevShort.prevShort;
+			// Drop levels that no longer hold any entries
+			while (levels > 0 && heads[levels - 1].next == null) {
+				levels--;
+				heads[levels] = null;
+				tails[levels] = null;
 			}
-			count++;
-			next = next.nextShort;
 		}
 
+		private void clear() {
+			for (int level = 0; level < levels; level++) {
+				heads[level] = null;
+				tails[level] = null;
+			}
+			levels = 0;
+		}
+	}
 
-		// Fixing the possible previous 8 nodes or less references after the node removal
-		count = 1;
-		while (count <= 8 && prev != null) {
-			if (prev.nextLong == null) {
-				prev.nextLong = null;
+	/**
+	 * Optional hash index from each element to the nodes holding it, so membership tests and
+	 * the lookup of an element's nodes take constant time instead of a scan. An element that
+	 * occurs once maps straight to its node, and only an element that occurs more than once maps
+	 * to a set of its nodes, in no particular order, so unlinking any of them is constant time
+	 * too. Elements must not change their hash code while they are in the list.
+	 */
+	private static class HashIndex<E> {
+		private final HashMap<Object, Object> nodes = new HashMap<>();
+
+		@SuppressWarnings("unchecked")
+		private void add(Node<E> node) {
+			Object value = nodes.putIfAbsent(node.element, node);
+			if (value instanceof Node) {
+				// Nodes do not override equals, so the set tells them apart by identity
+				HashSet<Node<E>> set = new HashSet<>(4);
+				set.add((Node<E>) value);
+				set.add(node);
+				nodes.put(node.element, set);
 			}
-			else if (prev.nextLong.nextShort == null) {
-				prev.nextLong = null;
+			else if (value != null) {
+				((HashSet<Node<E>>) value).add(node);
 			}
-			else {
-				prev.nextLong = prev.nextLong.nextShort;
+		}
 
+		@SuppressWarnings("unchecked")
+		private void remove(Node<E> node) {
+			Object value = nodes.get(node.element);
+			if (value == node) {
+				nodes.remove(node.element);
 			}
-
-			if (count == 8) {
-				prev.nextLong = prev.nextShort.nextShort.nextShort.nextShort.nextShort.nextShort.nextShort.nextShort;
+			else if (value instanceof HashSet) {
+				HashSet<Node<E>> set = (HashSet<Node<E>>) value;
+				set.remove(node);
+				if (set.size() == 1) {
+					nodes.put(node.element, set.iterator().next());
+				}
 			}
-			count++;
-			prev = prev.prevShort;
 		}
 
+		@SuppressWarnings("unchecked")
+		private Collection<Node<E>> occurrences(Object o) {
+			Object value = nodes.get(o);
+			if (value == null) {
+				return Collections.emptyList();
+			}
+			if (value instanceof Node) {
+				return Collections.singletonList((Node<E>) value);
+			}
+			return (HashSet<Node<E>>) value;
+		}
 
-		// Decreasing the list size by 1
-		size--;
+		private boolean contains(Object o) {
+			return nodes.containsKey(o);
+		}
 
-		return data;
+		private void clear() {
+			nodes.clear();
+		}
 	}
 
+	private Node<E> head;
+
+	private Node<E> tail;
+
+	private int size;
+
+	// Upper express lanes, only present for lists created by multiLevel()
+	private Lanes<E> lanes;
+
+	// Element to node index, only present for lists created by indexed()
+	private HashIndex<E> hashIndex;
+
+	// Number of structural changes, checked by iterators to fail fast on concurrent modification
+	private int modCount;
+
+	// Node found by the last lookup or change and its index, another starting point for lookups
+	private Finger<E> finger;
+
+	// Distance in nodes spanned by every long link
+	private int stride = 8;
+
+	// Whether the stride is retuned from the size and the observed mix of operations
+	private boolean adaptive;
 
+	// Positional reads and writes seen since the stride was last tuned, and the summed distance
+	// walked by their lookups, only counted when adaptive
+	private int reads;
+	private int writes;
+	private long distance;
 
+	// Number of snapshots taken, and the latest one while it can still be read
+	private int epoch;
+	private WeakReference<Snapshot<E>> latest;
+
+	// "EXS1", starts every stream written by writeTo()
+	private static final int STREAM_MAGIC = 0x45585331;
+
+	// Bytes buffered between the list and a channel, grown for elements that do not fit
+	private static final int STREAM_BUFFER = 1 << 16;
+
+	// Whether the metrics hooks are compiled in at all, on unless the expresslist.metrics
+	// property is false. Being a static final the JIT drops every hook when it is off
+	private static final boolean METRICS = Boolean.parseBoolean(System.getProperty("expresslist.metrics", "true"));
+
+	// Metrics recorded for this list, only present once setMetrics() was called
+	private ExpressListMetrics metrics;
+
+	// Unlinked nodes kept for reuse, chained through nextShort, only kept by lists created by
+	// pooled(), and the number of them against the most the pool keeps
+	private Node<E> pool;
+	private int pooled;
+	private int poolCapacity;
 
 	/**
-	 * Returns the element at the given index in the list, but with the faster
-	 * traversal of the Quadruply LinkedList implementation.
+	 * Constructor that creates an empty list
+	 */
+	public ExpressLinkedList() {
+		size = 0;
+	}
+
+	/**
+	 * Creates a list holding the elements of the given collection, in the order of its
+	 * toArray(). The nodes and all their links are made in a single pass, with the node a stride
+	 * behind the tail carried along to receive each new long link.
 	 *
-	 * @param index	Index of the element to be returned
-	 * @return Returns the element corresponding to the given index
-	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 * @param <E> elements type held in the list
+	 * @param c The collection whose elements the list holds
+	 * @return Returns a new list holding the elements
 	 */
-	public E get(int index) {
-		// Returns the element at the specified index
+	public static <E> ExpressLinkedList<E> of(Collection<? extends E> c) {
+		ExpressLinkedList<E> list = new ExpressLinkedList<>();
+		list.appendAll(c.toArray());
+		return list;
+	}
 
-		Node<E> pointer = null;
+	/**
+	 * Creates a list holding the elements of the given array, in the same order, in a single
+	 * pass like of(). The array is only read, not copied or kept.
+	 *
+	 * @param <E> elements type held in the list
+	 * @param elements The array whose elements the list holds
+	 * @return Returns a new list holding the elements
+	 */
+	public static <E> ExpressLinkedList<E> from(E[] elements) {
+		ExpressLinkedList<E> list = new ExpressLinkedList<>();
+		list.appendAll(elements);
+		return list;
+	}
 
-		// Out of bounds
-		if (index < 0 || index >= size) {
-			throw new IndexOutOfBoundsException();
+	/**
+	 * Reads a list written by writeTo() from the channel, decoding the elements with the given
+	 * codec. The nodes are linked as the elements arrive, each new node taking its long link from
+	 * the node a stride behind it, so the whole list is built in the one pass over the stream.
+	 * The channel is read through a buffer and may be read past the end of the list.
+	 *
+	 * @param <E> elements type held in the list
+	 * @param channel The channel to read from, at the start of the list
+	 * @param codec The codec the list was written with
+	 * @return Returns a new list holding the elements read
+	 * @throws IOException If the channel cannot be read, ends too early or holds no list written with a codec of this width
+	 */
+	public static <E> ExpressLinkedList<E> readFrom(ReadableByteChannel channel, ElementCodec<? extends E> codec) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(STREAM_BUFFER);
+		buffer.flip();
+		buffer = fill(channel, buffer, 3 * Integer.BYTES);
+		if (buffer.getInt() != STREAM_MAGIC) {
+			throw new StreamCorruptedException("Not a list stream, bad magic number");
+		}
+		int width = buffer.getInt();
+		if (width != codec.width()) {
+			throw new StreamCorruptedException("List stream holds elements of width " + width
+					+ ", the codec has width " + codec.width());
+		}
+		int count = buffer.getInt();
+		if (count < 0) {
+			throw new StreamCorruptedException("Negative size " + count);
 		}
 
-		// Start from head
-		if (index < size / 2) {
-			int count = 0;
-			pointer = head;
-
-			// Express route
-			while ((count + 8) <= index) {
-				pointer = pointer.nextShort;
-				count += 8;
+		ExpressLinkedList<E> list = new ExpressLinkedList<>();
+		while (list.size < count) {
+			E element;
+			try {
+				element = codec.get(buffer);
 			}
-
-			// Normal route
-			while (count != index) {
-				pointer = pointer.nextShort;
-				count++;
+			catch (BufferUnderflowException e) {
+				buffer = fill(channel, buffer, buffer.remaining() + 1);
+				continue;
 			}
+			list.add(element);
+		}
+		return list;
+	}
 
-			return pointer.element;
+	/**
+	 * This is a helper method that reads from the channel until the buffer holds at least the
+	 * given number of bytes, moving what is left to the front and growing the buffer if needed.
+	 * Returns the buffer, or a larger one holding the same bytes, ready to be read.
+	 */
+	private static ByteBuffer fill(ReadableByteChannel channel, ByteBuffer buffer, int needed) throws IOException {
+		if (buffer.capacity() < needed) {
+			ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(needed, buffer.capacity() * 2));
+			larger.put(buffer);
+			buffer = larger;
 		}
-		// Start from tail
 		else {
-			int count = size - 1;
-			pointer = tail;
-
-			// Express route
-			while ((count - 8) >= index) {
-				pointer = pointer.prevLong;
-				count -= 8;
-			}
-
-			// Normal route
-			while (count != index) {
-				pointer = pointer.prevShort;
-				count--;
+			buffer.compact();
+		}
+		while (buffer.position() < needed) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("List stream ended early");
 			}
-
-			return pointer.element;
 		}
-
+		buffer.flip();
+		return buffer;
 	}
 
-
-
 	/**
-	 * This is a helper method that helps modularize the code, and returns
-	 * the reference to a node given by the index.
+	 * Writes the list to the channel in a compact binary form: a header with the size and the
+	 * codec's width, then the elements as the codec encodes them, in order along the short
+	 * links. The links themselves are not written, readFrom() rebuilds them. The elements go out
+	 * through a buffer, so the channel sees a few large writes.
 	 *
-	 * @param index The index of the node to be returned
-	 * @return Returns the reference to the node given by the index
+	 * @param channel The channel to write to
+	 * @param codec The codec that encodes the elements
+	 * @throws IOException If the channel cannot be written
+	 * @throws ConcurrentModificationException If the codec changes the structure of the list
 	 */
-	private Node<E> getNode(int index) {
-		Node<E> current;
-		if (index < size / 2) {
-			current = head;
-			for (int i = 0; i < index; i++) {
-				current = current.nextShort;
+	public void writeTo(WritableByteChannel channel, ElementCodec<? super E> codec) throws IOException {
+		int expectedModCount = modCount;
+		ByteBuffer buffer = ByteBuffer.allocateDirect(STREAM_BUFFER);
+		buffer.putInt(STREAM_MAGIC);
+		buffer.putInt(codec.width());
+		buffer.putInt(size);
+		for (Node<E> node = head; node != null; ) {
+			try {
+				codec.put(buffer, node.element);
 			}
-		} else {
-			current = tail;
-			for (int i = size - 1; i > index; i--) {
-				current = current.prevShort;
+			catch (BufferOverflowException e) {
+				if (buffer.position() == 0) {
+					// The element does not fit even in an empty buffer
+					buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+				}
+				else {
+					drain(channel, buffer);
+				}
+				continue;
 			}
+			node = node.nextShort;
+		}
+		drain(channel, buffer);
+		if (modCount != expectedModCount) {
+			throw new ConcurrentModificationException();
 		}
-		return current;
 	}
 
+	private static void drain(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
 
 	/**
-	 * Returns the size of the list, meaning how many nodes are in the list.
+	 * Creates an empty list that keeps a stack of sparser express lanes above the long links,
+	 * with strides of about 8, 64, 512 and so on. Positional get, add and remove then take
+	 * O(log n) hops instead of O(n/8), which pays off for lists with millions of elements.
 	 *
-	 * @return The integer number of elements in the list
+	 * @param <E> elements type held in the list
+	 * @return Returns an empty multi-level list
 	 */
-	public int size() {
-		return size;
+	public static <E> ExpressLinkedList<E> multiLevel() {
+		ExpressLinkedList<E> list = new ExpressLinkedList<>();
+		list.lanes = new Lanes<>();
+		return list;
 	}
 
 	/**
-	 * Empties the list after the call and makes the size 0
+	 * Creates an empty list that keeps a hash index from each element to its nodes, at the
+	 * cost of a map entry per distinct element. contains(), containsAll() and remove(Object)
+	 * then find nodes in constant time instead of scanning, and indexOf() and lastIndexOf() work
+	 * out the position of the nodes they find by hopping along the long links to the nearer end.
+	 *
+	 * @param <E> elements type held in the list
+	 * @return Returns an empty indexed list
 	 */
-	public void clear() {
-		head = null;
-		tail = null;
-		size = 0;
+	public static <E> ExpressLinkedList<E> indexed() {
+		ExpressLinkedList<E> list = new ExpressLinkedList<>();
+		list.hashIndex = new HashIndex<>();
+		return list;
 	}
 
 	/**
-	 * Returns a String representation of the Quadruply LinkedList object.
+	 * Creates an empty list that recycles its nodes. Nodes unlinked by remove() and clear() go
+	 * to a free list of at most the given number of nodes, and add() takes its nodes from there
+	 * before allocating new ones, so a list that is cleared and refilled over and over stops
+	 * allocating once the pool is warm. clear() unlinks every node in one pass instead of
+	 * leaving them cross-linked for the garbage collector. Nodes are not recycled while a
+	 * snapshot of the list can still be read, as it may still be walking them.
 	 *
-	 * @return String representation of the Quadruply LinkedList object
+	 * @param <E> elements type held in the list
+	 * @param capacity The most unlinked nodes kept for reuse
+	 * @return Returns an empty list that recycles its nodes
+	 * @throws IllegalArgumentException In case the capacity is negative
 	 */
-	@Override
+	public static <E> ExpressLinkedList<E> pooled(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+		}
+		ExpressLinkedList<E> list = new ExpressLinkedList<>();
+		list.poolCapacity = capacity;
+		return list;
+	}
+
+	/**
+	 * Creates an empty list whose long links span the given number of nodes instead of 8.
+	 * A shorter stride makes the long links cheaper to repair after an insertion or removal,
+	 * a longer one makes lookups in long lists take fewer hops.
+	 *
+	 * @param <E> elements type held in the list
+	 * @param stride The number of nodes spanned by each long link, at least 2
+	 * @return Returns an empty list with the given stride
+	 * @throws IllegalArgumentException In case the stride is less than 2
+	 */
+	public static <E> ExpressLinkedList<E> withStride(int stride) {
+		if (stride < 2) {
+			throw new IllegalArgumentException("Stride must be at least 2: " + stride);
+		}
+		ExpressLinkedList<E> list = new ExpressLinkedList<>();
+		list.stride = stride;
+		return list;
+	}
+
+	/**
+	 * Creates an empty list that picks its own stride. It counts positional reads and writes,
+	 * and at the first structural change after every 1024 of them it works out the stride that
+	 * minimizes the expected hops for its current size and mix, rebuilding the long links in one
+	 * pass when that has moved far enough from the current stride. Reads only count, so they
+	 * never rebuild links. Small or write-heavy lists end up with short strides, large
+	 * read-mostly lists with long ones.
+	 *
+	 * @param <E> elements type held in the list
+	 * @return Returns an empty list with an adaptive stride
+	 */
+	public static <E> ExpressLinkedList<E> adaptive() {
+		ExpressLinkedList<E> list = new ExpressLinkedList<>();
+		list.adaptive = true;
+		return list;
+	}
+
+	/**
+	 * Attaches metrics that count the hops of every positional lookup, the long links repaired
+	 * by every change and the latency of get(int), add(int, E) and remove(int), or detaches
+	 * them if null. Without metrics attached each of those costs one extra null check, and none
+	 * at all when the JVM runs with -Dexpresslist.metrics=false.
+	 *
+	 * @param metrics The metrics to record into, or null
+	 * @throws IllegalStateException If metrics were switched off with -Dexpresslist.metrics=false
+	 */
+	public void setMetrics(ExpressListMetrics metrics) {
+		if (!METRICS && metrics != null) {
+			throw new IllegalStateException("Metrics are switched off by -Dexpresslist.metrics=false");
+		}
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Returns the metrics attached with setMetrics(), or null if there are none.
+	 *
+	 * @return The metrics recorded for this list
+	 */
+	public ExpressListMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Appends a given Object to the end of the list. The node that gets the new long link is
+	 * the one a stride before the new tail, which is reached in two hops as the successor of
+	 * the current tail's long link partner, so appending takes constant time.
+	 * @param e This is the given item, it should be of the correct generic type
+	 * @return Returns true if the element was added correctly, false otherwise.
+	 */
+	public boolean add(E e) {
+		Node<E> node = newNode(e);
+		if (size == 0) {
+			head = node;
+			tail = node;
+		} else {
+			preserve(tail);
+			tail.nextShort = node;
+			node.prevShort = tail;
+			if (size >= stride) {
+				Node<E> partner = size == stride ? head : tail.prevLong.nextShort;
+				partner.nextLong = node;
+				node.prevLong = partner;
+			}
+			tail = node;
+		}
+		if (lanes != null) {
+			lanes.append(node, size);
+		}
+		if (hashIndex != null) {
+			hashIndex.add(node);
+		}
+		size++;
+		modCount++;
+		// Appends repair no links, so they only give reads counted before them a chance to retune
+		if (adaptive) {
+			tune();
+		}
+		return true;
+	}
+
+	/**
+	 * Appends all the elements of the given collection to the end of the list, in the order of
+	 * its toArray(). The batch is linked in one pass that carries the long link partner forward
+	 * along with the tail.
+	 *
+	 * @param c The collection whose elements are appended
+	 * @return Returns true if the list changed, false if the collection was empty
+	 */
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		return appendAll(c.toArray());
+	}
+
+	/**
+	 * This is a helper method that appends the elements of the array, which it only reads, in
+	 * one pass that carries the long link partner forward along with the tail.
+	 */
+	private boolean appendAll(Object[] elements) {
+		if (elements.length == 0) {
+			return false;
+		}
+
+		int i = 0;
+		if (size == 0) {
+			add(elementAt(elements, i++));
+		}
+
+		// Node a stride before the next node to be appended, once there is one
+		Node<E> partner = size < stride ? null : size == stride ? head : tail.prevLong.nextShort;
+		for (; i < elements.length; i++) {
+			Node<E> node = newNode(elementAt(elements, i));
+			preserve(tail);
+			tail.nextShort = node;
+			node.prevShort = tail;
+			if (partner != null) {
+				partner.nextLong = node;
+				node.prevLong = partner;
+				partner = partner.nextShort;
+			}
+			else if (size == stride - 1) {
+				partner = head;
+			}
+			tail = node;
+			if (lanes != null) {
+				lanes.append(node, size);
+			}
+			if (hashIndex != null) {
+				hashIndex.add(node);
+			}
+			size++;
+		}
+		modCount++;
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> E elementAt(Object[] elements, int index) {
+		return (E) elements[index];
+	}
+
+	/**
+	 * Inserts the specified element at the given index position in the list.
+	 * Shifts the element at the index given, and its following elements to its right to
+	 * the right by adding one to their indices. This is the Quadruply LinkedList implementation of the
+	 * method, which is faster for traversal through list than a normal LinkedList or Doubly LinkedList.
+	 * It is faster by making use of a pointer in each node cell that stores the address of 8 nodes ahead and
+	 * behind.
+	 *
+	 * @param index The index at which the element must be inserted
+	 * @param element The element to be inserted into the specified index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	@Override
+	public void add(int index, E element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		long started = METRICS && metrics != null ? System.nanoTime() : 0;
+		if (index == size) {
+			add(element);
+		}
+		else {
+			linkBefore(element, node(index), index);
+		}
+		if (METRICS && metrics != null) {
+			metrics.latency(ExpressListMetrics.Operation.ADD, System.nanoTime() - started);
+		}
+	}
+
+	/**
+	 * This is a helper method that links a new node holding the element in front of the given
+	 * node, which sits at the given index, and repairs the long links around it.
+	 *
+	 * @param element The element to be inserted
+	 * @param current The node that the new node is inserted in front of
+	 * @param index The index of the current node, which becomes the index of the new node
+	 */
+	private void linkBefore(E element, Node<E> current, int index) {
+		Node<E> node = newNode(element);
+		Node<E> prev = current.prevShort;
+
+		node.nextShort = current;
+		current.prevShort = node;
+		node.prevShort = prev;
+		if (prev == null) {
+			head = node;
+		} else {
+			preserve(prev);
+			prev.nextShort = node;
+		}
+
+		// Only the pairs of nodes a stride apart that straddle the new node need new long links
+		int start = Math.max(index - stride, 0);
+		Node<E> from = node;
+		for (int i = index; i > start; i--) {
+			from = from.prevShort;
+		}
+		relink(from, start, index - start + 1);
+
+		if (lanes != null) {
+			lanes.insert(index, node, size);
+		}
+		if (hashIndex != null) {
+			hashIndex.add(node);
+		}
+		finger = new Finger<>(node, index);
+		size++;
+		modCount++;
+		if (adaptive) {
+			writes++;
+			tune();
+		}
+	}
+
+
+	/**
+	 * Remove an item from the list at the given index. Shifts the following
+	 * elements to the left of the index to the left by subtracting one from their indices.
+	 * This is the Quadruply LinkedList implementation of the method, which is faster for traversal through list than
+	 * a normal LinkedList or Doubly LinkedList. It is faster by making use of a pointer in each node cell
+	 * that stores the address of 8 nodes ahead and behind.
+	 *
+	 * @param index	Index of the element to be removed
+	 * @return The element given by the index that was supposed to be removed
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E remove(int index) {
+
+		// In case the index was out of bounds
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		long started = METRICS && metrics != null ? System.nanoTime() : 0;
+		E element = unlink(node(index), index);
+		if (METRICS && metrics != null) {
+			metrics.latency(ExpressListMetrics.Operation.REMOVE, System.nanoTime() - started);
+		}
+		return element;
+	}
+
+	/**
+	 * This is a helper method that unlinks the given node, which sits at the given index, and
+	 * repairs the long links around the gap it leaves.
+	 *
+	 * @param pointer The node to be unlinked
+	 * @param index The index of that node
+	 * @return The element the node held
+	 */
+	private E unlink(Node<E> pointer, int index) {
+		if (lanes != null) {
+			lanes.remove(index, pointer);
+		}
+		if (hashIndex != null) {
+			hashIndex.remove(pointer);
+		}
+
+		E data = pointer.element;
+
+		// Pointer to the left and right of the about to be removed index, to fix the previousLong
+		// and nextLong references of individual nodes
+		Node<E> next = pointer.nextShort;
+		Node<E> prev = pointer.prevShort;
+
+		// In case no node to the left
+		if (prev == null) {
+			head = next;
+		}
+		else {
+			preserve(prev);
+			prev.nextShort = next;
+			pointer.prevShort = null;
+			//
+			pointer.prevLong = null;
+		}
+
+		// In case no node to the right
+		if (next == null) {
+			tail = prev;
+		}
+		else {
+			next.prevShort = prev;
+			preserve(pointer);
+			pointer.nextShort = null;
+			//
+			pointer.nextLong = null;
+		}
+
+		// Only the pairs of nodes a stride apart that straddle the gap need new long links
+		if (next != null || prev != null) {
+			int start = Math.max(index - stride, 0);
+			Node<E> from = prev == null ? next : prev;
+			for (int i = prev == null ? index : index - 1; i > start; i--) {
+				from = from.prevShort;
+			}
+			relink(from, start, index - start);
+		}
+
+		// The node that moved into the gap is where a following lookup most likely goes
+		finger = next != null ? new Finger<>(next, index)
+				: prev != null ? new Finger<>(prev, index - 1) : null;
+		if (poolCapacity > 0 && recyclable()) {
+			recycle(pointer);
+		}
+
+		// Decreasing the list size by 1
+		size--;
+		modCount++;
+		if (adaptive) {
+			writes++;
+			tune();
+		}
+
+		return data;
+	}
+
+	/**
+	 * This is a helper method that removes the elements from index from up to but not including
+	 * index to with a single splice. It finds the nodes on either side of the range along the
+	 * long links, joins them with their short links, and then repairs only the long links that
+	 * reached across the cut, from the stride nodes before it, so the work is the lookup plus
+	 * O(stride) however long the range is. The removed nodes are left as they are.
+	 *
+	 * @param from The index of the first element removed
+	 * @param to The index after the last element removed
+	 */
+	private void removeRange(int from, int to) {
+		int count = to - from;
+		if (count <= 0) {
+			return;
+		}
+		if (count == size) {
+			clear();
+			return;
+		}
+
+		Node<E> first = node(from);
+		Node<E> prev = first.prevShort;
+		Node<E> after = to == size ? null : walk(first, from, to);
+		if (lanes != null) {
+			lanes.removeRange(from, count);
+		}
+		if (hashIndex != null) {
+			Node<E> node = first;
+			for (int i = 0; i < count; i++) {
+				hashIndex.remove(node);
+				node = node.nextShort;
+			}
+		}
+
+		if (prev == null) {
+			head = after;
+		}
+		else {
+			preserve(prev);
+			prev.nextShort = after;
+		}
+		if (after == null) {
+			tail = prev;
+		}
+		else {
+			after.prevShort = prev;
+		}
+
+		// Only the nodes within a stride before the cut have long links reaching across it
+		int start = Math.max(from - stride, 0);
+		Node<E> pointer = prev == null ? after : prev;
+		for (int i = prev == null ? from : from - 1; i > start; i--) {
+			pointer = pointer.prevShort;
+		}
+		relink(pointer, start, from - start);
+
+		if (poolCapacity > 0 && recyclable()) {
+			Node<E> node = first;
+			for (int i = 0; i < count; i++) {
+				Node<E> next = node.nextShort;
+				recycle(node);
+				node = next;
+			}
+		}
+
+		finger = after != null ? new Finger<>(after, from)
+				: prev != null ? new Finger<>(prev, from - 1) : null;
+		size -= count;
+		modCount++;
+		if (adaptive) {
+			writes++;
+			tune();
+		}
+	}
+
+	/**
+	 * This is a helper method that replaces the element of a node, keeping the snapshots and
+	 * the hash index up to date.
+	 *
+	 * @param node The node whose element is replaced
+	 * @param element The new element
+	 * @return The element the node held before
+	 */
+	private E replace(Node<E> node, E element) {
+		E old = node.element;
+		preserve(node);
+		if (hashIndex != null) {
+			hashIndex.remove(node);
+		}
+		node.element = element;
+		if (hashIndex != null) {
+			hashIndex.add(node);
+		}
+		return old;
+	}
+
+	/**
+	 * This is a helper method that works out the index of a node from the links alone. Only
+	 * nodes at least a stride from the head have a previous long link and only nodes at least a
+	 * stride from the tail have a next long link, so it hops towards both ends at once, a stride
+	 * at a time, and counts the remaining short hops at whichever end it reaches first.
+	 *
+	 * @param node A node of the list
+	 * @return The index of the node
+	 */
+	private int position(Node<E> node) {
+		Node<E> back = node;
+		Node<E> ahead = node;
+		int hops = 0;
+
+		// Express route
+		while (back.prevLong != null && ahead.nextLong != null) {
+			back = back.prevLong;
+			ahead = ahead.nextLong;
+			hops += stride;
+		}
+
+		// Normal route
+		if (back.prevLong == null) {
+			while (back.prevShort != null) {
+				back = back.prevShort;
+				hops++;
+			}
+			return hops;
+		}
+		while (ahead.nextShort != null) {
+			ahead = ahead.nextShort;
+			hops++;
+		}
+		return size - 1 - hops;
+	}
+
+	/**
+	 * This is a helper method that returns the node holding the first or the last occurrence
+	 * of the element together with its index, using the hash index, and makes it the finger.
+	 * Returns null if the element does not occur. Working out the position of a node costs up
+	 * to size / stride hops, so an element with more than a stride of occurrences is looked
+	 * for by a scan from the head, or from the tail for the last one, which never costs more
+	 * than size hops.
+	 */
+	private Finger<E> indexedOccurrence(Object o, boolean first) {
+		Collection<Node<E>> occurrences = hashIndex.occurrences(o);
+		if (occurrences.isEmpty()) {
+			return null;
+		}
+		Node<E> found = null;
+		int foundIndex = -1;
+		if (occurrences.size() > stride) {
+			found = first ? head : tail;
+			foundIndex = first ? 0 : size - 1;
+			while (!Objects.equals(o, found.element)) {
+				found = first ? found.nextShort : found.prevShort;
+				foundIndex += first ? 1 : -1;
+			}
+		}
+		else {
+			for (Node<E> node : occurrences) {
+				int index = position(node);
+				if (found == null || (first ? index < foundIndex : index > foundIndex)) {
+					found = node;
+					foundIndex = index;
+				}
+			}
+		}
+		Finger<E> occurrence = new Finger<>(found, foundIndex);
+		finger = occurrence;
+		return occurrence;
+	}
+
+	/**
+	 * This is a helper method that removes, in one pass along the short links, every element for
+	 * which the collection's contains() gives the wanted answer.
+	 */
+	private boolean removeMatching(Collection<?> c, boolean contained) {
+		Objects.requireNonNull(c);
+		boolean changed = false;
+		int index = 0;
+		for (Node<E> node = head; node != null; ) {
+			Node<E> next = node.nextShort;
+			if (c.contains(node.element) == contained) {
+				unlink(node, index);
+				changed = true;
+			}
+			else {
+				index++;
+			}
+			node = next;
+		}
+		return changed;
+	}
+
+	/**
+	 * This is a helper method that creates a node, with the snapshot epoch only while a
+	 * snapshot may still be read, so lists without snapshots pay nothing for them.
+	 *
+	 * @param element The element of the new node
+	 * @return The new node, not linked to anything yet
+	 */
+	private Node<E> newNode(E element) {
+		if (latest != null) {
+			return new EpochNode<>(element, epoch);
+		}
+		Node<E> node = pool;
+		if (node == null) {
+			return new Node<>(element);
+		}
+		pool = node.nextShort;
+		pooled--;
+		node.nextShort = null;
+		node.element = element;
+		return node;
+	}
+
+	/**
+	 * This is a helper method that tells whether unlinked nodes can be reused, which is when no
+	 * snapshot that might still walk them can be read any more.
+	 */
+	private boolean recyclable() {
+		if (latest != null && latest.get() == null) {
+			latest = null;
+		}
+		return latest == null;
+	}
+
+	/**
+	 * This is a helper method that clears the links and the element of an unlinked node and
+	 * keeps it in the pool, unless the pool is full.
+	 */
+	private void recycle(Node<E> node) {
+		node.element = null;
+		node.prevShort = null;
+		node.nextLong = null;
+		node.prevLong = null;
+		if (pooled < poolCapacity) {
+			node.nextShort = pool;
+			pool = node;
+			pooled++;
+		}
+		else {
+			node.nextShort = null;
+		}
+	}
+
+	/**
+	 * This is a helper method called before the short link or the element of an existing node
+	 * changes. If the latest snapshot can still be read and the node is part of it, what the
+	 * node holds now is saved in that snapshot, unless it was saved there already.
+	 *
+	 * @param node The node about to be changed
+	 */
+	private void preserve(Node<E> node) {
+		if (latest == null) {
+			return;
+		}
+		Snapshot<E> snapshot = latest.get();
+		if (snapshot == null) {
+			latest = null;
+		}
+		else if ((!(node instanceof EpochNode) || ((EpochNode<E>) node).epoch <= snapshot.epoch)
+				&& !snapshot.saved.containsKey(node)) {
+			snapshot.saved.put(node, new Saved<>(node.nextShort, node.element));
+			// Readers that see the change must also see what was saved
+			VarHandle.releaseFence();
+		}
+	}
+
+	/**
+	 * Rewires every long link of the list from the short links, in a single pass with a second
+	 * pointer running a stride ahead, and rebuilds the upper lanes of a multi-level list. The
+	 * elements and their order are left as they are.
+	 */
+	public void rebuildExpressLinks() {
+		relink(head, 0, size);
+		if (lanes != null) {
+			lanes.clear();
+			int index = 0;
+			for (Node<E> node = head; node != null; node = node.nextShort) {
+				lanes.append(node, index++);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the list into the order given by the comparator, or the natural order of the
+	 * elements if it is null. The sort is stable. It is a bottom-up merge sort of the nodes
+	 * themselves along their next short links, which keeps a sorted run of 2^i nodes in slot i
+	 * of a table of 32 and merges each node in like a carry, so it needs no array of the
+	 * elements. The previous short links keep the old order while it runs, so if the
+	 * comparator throws, the list is put back as it was. Once sorted, the previous short links
+	 * are set in one pass and the long links and lanes rebuilt in another. Nodes keep their
+	 * elements, so the hash index of an indexed list stays valid.
+	 *
+	 * @param c The comparator deciding the order, or null for the natural order
+	 * @throws ClassCastException If c is null and the elements are not mutually comparable
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void sort(Comparator<? super E> c) {
+		if (size < 2) {
+			modCount++;
+			return;
+		}
+		Comparator<? super E> order = c != null ? c : (Comparator<? super E>) Comparator.naturalOrder();
+		for (Node<E> node = head; node != null && latest != null; node = node.nextShort) {
+			preserve(node);
+		}
+
+		Node<E> sorted = null;
+		try {
+			Node<E>[] runs = (Node<E>[]) new Node<?>[32];
+			Node<E> node = head;
+			while (node != null) {
+				Node<E> next = node.nextShort;
+				node.nextShort = null;
+				Node<E> carry = node;
+				int i = 0;
+				for (; runs[i] != null; i++) {
+					carry = merge(runs[i], carry, order);
+					runs[i] = null;
+				}
+				runs[i] = carry;
+				node = next;
+			}
+			for (Node<E> run : runs) {
+				if (run != null) {
+					sorted = sorted == null ? run : merge(run, sorted, order);
+				}
+			}
+		}
+		catch (RuntimeException | Error e) {
+			// The previous short links still hold the old order
+			for (Node<E> node = tail; node.prevShort != null; node = node.prevShort) {
+				node.prevShort.nextShort = node;
+			}
+			tail.nextShort = null;
+			throw e;
+		}
+
+		head = sorted;
+		head.prevShort = null;
+		Node<E> prev = head;
+		for (Node<E> node = head.nextShort; node != null; node = node.nextShort) {
+			node.prevShort = prev;
+			prev = node;
+		}
+		tail = prev;
+		finger = null;
+		rebuildExpressLinks();
+		modCount++;
+	}
+
+	/**
+	 * This is a helper method of sort() that merges two sorted runs joined by their next short
+	 * links and ended by null, taking from the first run on ties so the merge is stable.
+	 */
+	private static <E> Node<E> merge(Node<E> a, Node<E> b, Comparator<? super E> order) {
+		Node<E> first;
+		if (order.compare(b.element, a.element) < 0) {
+			first = b;
+			b = b.nextShort;
+		}
+		else {
+			first = a;
+			a = a.nextShort;
+		}
+		Node<E> last = first;
+		while (a != null && b != null) {
+			if (order.compare(b.element, a.element) < 0) {
+				last.nextShort = b;
+				last = b;
+				b = b.nextShort;
+			}
+			else {
+				last.nextShort = a;
+				last = a;
+				a = a.nextShort;
+			}
+		}
+		last.nextShort = a != null ? a : b;
+		return first;
+	}
+
+	/**
+	 * This is a helper method that resets the long links of count consecutive nodes, starting
+	 * with the given one, to point at the node a stride after each of them. A second pointer
+	 * runs a stride ahead on the short links, so the whole repair is a single linear walk instead
+	 * of a separate walk per link. Nodes within the first stride positions of the list that the
+	 * walk passes get their previous long link cleared, as they have nothing a stride behind.
+	 *
+	 * @param from The first node whose next long link is reset
+	 * @param fromIndex The index of that node
+	 * @param count The number of consecutive nodes whose next long link is reset
+	 */
+	private void relink(Node<E> from, int fromIndex, int count) {
+		if (METRICS && metrics != null) {
+			metrics.repair(count);
+		}
+		Node<E> lead = from;
+		for (int i = 0; i < stride && lead != null; i++) {
+			if (fromIndex + i < stride) {
+				lead.prevLong = null;
+			}
+			lead = lead.nextShort;
+		}
+
+		for (int i = 0; i < count && from != null; i++) {
+			from.nextLong = lead;
+			if (lead != null) {
+				lead.prevLong = from;
+				lead = lead.nextShort;
+			}
+			from = from.nextShort;
+		}
+	}
+
+
+
+	/**
+	 * Returns the element at the given index in the list, but with the faster
+	 * traversal of the Quadruply LinkedList implementation.
+	 *
+	 * @param index	Index of the element to be returned
+	 * @return Returns the element corresponding to the given index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	public E get(int index) {
+		// Out of bounds
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		// Counted only, the stride is retuned at the next structural change so reads never relink
+		if (adaptive) {
+			reads++;
+		}
+		long started = METRICS && metrics != null ? System.nanoTime() : 0;
+		E element = node(index).element;
+		if (METRICS && metrics != null) {
+			metrics.latency(ExpressListMetrics.Operation.GET, System.nanoTime() - started);
+		}
+		return element;
+	}
+
+	/**
+	 * This is a helper method for adaptive lists that reconsiders the stride at the first
+	 * structural change after every 1024 positional reads and writes, so a read never rewrites
+	 * the links and reads stay safe to run on several threads at once. Reaching an index at distance d from the closest start takes
+	 * about d / stride long hops plus stride / 2 short hops, and a write adds about 3 * stride
+	 * hops of long link repair, so with d the mean distance seen the expected cost is lowest at
+	 * a stride of sqrt(2 * d / (1 + 6 * writeShare)). The links are only rebuilt once that is at
+	 * least twice or at most half the current stride, so a size or mix hovering around a
+	 * boundary does not rebuild them over and over, and the new stride is rounded to a power
+	 * of two between 4 and 1024.
+	 */
+	private void tune() {
+		int seen = reads + writes;
+		if (seen < 1024) {
+			return;
+		}
+		double best = Math.sqrt(2.0 * distance / seen / (1 + 6 * ((double) writes / seen)));
+		reads = 0;
+		writes = 0;
+		distance = 0;
+		if (best >= 2 * stride || best <= stride / 2.0) {
+			int target = Integer.highestOneBit((int) Math.max(4, Math.min(1024, best * Math.sqrt(2))));
+			if (target != stride) {
+				stride = target;
+				relink(head, 0, size);
+			}
+		}
+	}
+
+	/**
+	 * This is a helper method that locates the node at the given index. It starts from
+	 * whichever is closest of the head, the tail and the finger, the node found by the
+	 * previous lookup or change, takes the long links a stride at a time while that does not
+	 * overshoot, and finishes the remaining distance with the short links. Multi-level lists
+	 * descend their upper lanes first, unless the finger is within a stride of the index.
+	 * The found node becomes the new finger, so walking the indices in order costs one short
+	 * hop per call. The index must already be checked by the caller.
+	 *
+	 * @param index The index of the node to be returned
+	 * @return Returns the reference to the node given by the index
+	 */
+	private Node<E> node(int index) {
+		Node<E> pointer;
+		int count;
+		int distance;
+
+		// Start from head
+		if (index < size / 2) {
+			pointer = head;
+			count = 0;
+			distance = index;
+		}
+		// Start from tail
+		else {
+			pointer = tail;
+			count = size - 1;
+			distance = count - index;
+		}
+		// Start from the finger, read once as other threads may be reading the list too
+		Finger<E> last = finger;
+		if (last != null && Math.abs(index - last.index) < distance) {
+			pointer = last.node;
+			count = last.index;
+			distance = Math.abs(index - last.index);
+		}
+
+		if (METRICS && metrics != null) {
+			record(pointer, distance);
+		}
+		if (lanes != null && distance > stride) {
+			pointer = lanes.locate(index, head, stride);
+		}
+		else {
+			pointer = walk(pointer, count, index);
+		}
+		if (adaptive) {
+			this.distance += distance;
+		}
+		if (last == null || last.node != pointer) {
+			finger = new Finger<>(pointer, index);
+		}
+		return pointer;
+	}
+
+	/**
+	 * This is a helper method that records a lookup about to start from the given node, with
+	 * the given distance still to go, into the metrics. A walk takes exactly distance / stride
+	 * long hops and distance % stride short ones, so the hops are counted without touching the
+	 * walk itself.
+	 */
+	private void record(Node<E> start, int distance) {
+		if (lanes != null && distance > stride) {
+			metrics.lookup(ExpressListMetrics.Start.LANES, 0, 0);
+			return;
+		}
+		ExpressListMetrics.Start from = start == head ? ExpressListMetrics.Start.HEAD
+				: start == tail ? ExpressListMetrics.Start.TAIL : ExpressListMetrics.Start.FINGER;
+		metrics.lookup(from, distance / stride, distance % stride);
+	}
+
+	/**
+	 * This is a helper method that walks from a node at a known index to the node at the given
+	 * index, in either direction. The long links make it hop a stride at a time for as long as
+	 * that does not overshoot, and the short links cover the rest.
+	 *
+	 * @param pointer The node to start from
+	 * @param count The index of that node
+	 * @param index The index of the node to be returned
+	 * @return Returns the reference to the node given by the index
+	 */
+	private Node<E> walk(Node<E> pointer, int count, int index) {
+		// Express route
+		while ((count + stride) <= index) {
+			pointer = pointer.nextLong;
+			count += stride;
+		}
+		while ((count - stride) >= index) {
+			pointer = pointer.prevLong;
+			count -= stride;
+		}
+
+		// Normal route
+		while (count < index) {
+			pointer = pointer.nextShort;
+			count++;
+		}
+		while (count > index) {
+			pointer = pointer.prevShort;
+			count--;
+		}
+		return pointer;
+	}
+
+
+	/**
+	 * Returns the size of the list, meaning how many nodes are in the list.
+	 *
+	 * @return The integer number of elements in the list
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Empties the list after the call and makes the size 0. Lists created by pooled() unlink
+	 * the nodes in one pass and keep them for reuse.
+	 */
+	public void clear() {
+		if (poolCapacity > 0 && recyclable()) {
+			for (Node<E> node = head; node != null; ) {
+				Node<E> next = node.nextShort;
+				recycle(node);
+				node = next;
+			}
+		}
+		head = null;
+		tail = null;
+		finger = null;
+		size = 0;
+		modCount++;
+		if (lanes != null) {
+			lanes.clear();
+		}
+		if (hashIndex != null) {
+			hashIndex.clear();
+		}
+	}
+
+	/**
+	 * Returns an immutable view of the list as it is now, in constant time. The view shares the
+	 * nodes of the list, and from then on the list saves the short link and element of a node
+	 * the first time it changes them, so the cost of a snapshot is paid by the nodes changed
+	 * after it rather than by a copy of the whole list. Once no snapshot is reachable any more
+	 * the list stops saving. The view can be iterated on another thread while this list is
+	 * changed on its own thread, and positional access copies it into an array once.
+	 *
+	 * @return An immutable list holding the elements of this list at the time of the call
+	 */
+	public List<E> snapshot() {
+		Snapshot<E> previous = latest == null ? null : latest.get();
+		if (previous != null && previous.saved.isEmpty() && previous.head == head && previous.size == size) {
+			// Nothing changed since the previous snapshot
+			return previous;
+		}
+		Snapshot<E> snapshot = new Snapshot<>(head, size, epoch);
+		if (previous != null) {
+			previous.newer = snapshot;
+		}
+		latest = new WeakReference<>(snapshot);
+		epoch++;
+		return snapshot;
+	}
+
+	/**
+	 * Returns a String representation of the Quadruply LinkedList object.
+	 *
+	 * @return String representation of the Quadruply LinkedList object
+	 */
+	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("[");
@@ -400,117 +1754,988 @@ public class ExpressLinkedList<E> implements List<E>  {
 				sb.append(", ");
 			}
 		}
-		sb.append("]");
-		return sb.toString();
+		sb.append("]");
+		return sb.toString();
+	}
+
+
+
+
+
+
+
+	/**
+	 * Returns whether the list holds no elements.
+	 *
+	 * @return True if the size of the list is 0
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns whether the list holds an element equal to the given one. Indexed lists look it
+	 * up in the hash index, other lists scan the short links.
+	 *
+	 * @param o The element to look for
+	 * @return True if the list holds the element
+	 */
+	@Override
+	public boolean contains(Object o) {
+		if (hashIndex != null) {
+			return hashIndex.contains(o);
+		}
+		return indexOf(o) >= 0;
+	}
+
+	/**
+	 * Returns an iterator over the elements of the list in order, stepping along the short links.
+	 *
+	 * @return An iterator that starts at the head of the list
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new ListItr(0);
+	}
+
+	/**
+	 * Returns a spliterator over the elements of the list, which is what stream() and
+	 * parallelStream() are built on. It binds to the list on first use and splits by hopping
+	 * along the long links to the middle of its range, or by descending the upper lanes of
+	 * multi-level lists, instead of walking every node up to the split point.
+	 *
+	 * @return A SIZED, SUBSIZED and ORDERED spliterator over the list
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return new ExpressSpliterator(null, 0, -1, 0);
+	}
+
+	/**
+	 * Spliterator over a range of the list given by its first node, the index of that node and
+	 * the number of elements in the range. A remaining count of -1 means the spliterator has not
+	 * been bound to the list yet.
+	 */
+	private class ExpressSpliterator implements Spliterator<E> {
+		// Ranges smaller than this are not worth handing to another thread
+		private static final int MIN_SPLIT = 64;
+
+		private Node<E> current;
+		private int index;
+		private int remaining;
+		private int expectedModCount;
+
+		public ExpressSpliterator(Node<E> current, int index, int remaining, int expectedModCount) {
+			this.current = current;
+			this.index = index;
+			this.remaining = remaining;
+			this.expectedModCount = expectedModCount;
+		}
+
+		private int bind() {
+			if (remaining < 0) {
+				current = head;
+				index = 0;
+				remaining = size;
+				expectedModCount = modCount;
+			}
+			return remaining;
+		}
+
+		@Override
+		public Spliterator<E> trySplit() {
+			int n = bind();
+			if (n < MIN_SPLIT) {
+				return null;
+			}
+
+			// Split on a multiple of the stride so the middle is reached on long links alone
+			int half = n >>> 1;
+			if (half >= stride) {
+				half -= half % stride;
+			}
+			Node<E> middle;
+			// Splits may run on several threads, so they leave the finger alone
+			if (lanes != null) {
+				middle = lanes.locate(index + half, head, stride);
+			}
+			else {
+				middle = current;
+				int count = 0;
+				for (; count + stride <= half; count += stride) {
+					middle = middle.nextLong;
+				}
+				for (; count < half; count++) {
+					middle = middle.nextShort;
+				}
+			}
+
+			Spliterator<E> prefix = new ExpressSpliterator(current, index, half, expectedModCount);
+			current = middle;
+			index += half;
+			remaining -= half;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			Objects.requireNonNull(action);
+			if (bind() == 0) {
+				return false;
+			}
+			Node<E> node = current;
+			current = node.nextShort;
+			index++;
+			remaining--;
+			action.accept(node.element);
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			return true;
+		}
+
+		/**
+		 * Replaces the remaining elements with the result of the operator applied to them, in
+		 * place, for the parallel replaceAll.
+		 */
+		private void replaceRemaining(UnaryOperator<E> operator) {
+			int n = bind();
+			Node<E> node = current;
+			current = null;
+			index += n;
+			remaining = 0;
+			for (; n > 0 && modCount == expectedModCount; n--) {
+				node.element = operator.apply(node.element);
+				node = node.nextShort;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			Objects.requireNonNull(action);
+			int n = bind();
+			Node<E> node = current;
+			current = null;
+			index += n;
+			remaining = 0;
+			// The action may unlink the node it is given, so the next node is read first, and a
+			// change to the list stops the walk before it steps onto a node that left it
+			for (; n > 0 && modCount == expectedModCount; n--) {
+				Node<E> next = node.nextShort;
+				action.accept(node.element);
+				node = next;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			return bind();
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
+	/**
+	 * Returns the elements of the list in order in a new array, copied in a single pass along
+	 * the short links.
+	 *
+	 * @return An array of length size holding the elements of the list
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] result = new Object[size];
+		int i = 0;
+		for (Node<E> node = head; node != null; node = node.nextShort) {
+			result[i++] = node.element;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the elements of the list in order in the given array if they fit, otherwise in a
+	 * new array of the same runtime type, copied in a single pass along the short links. If the
+	 * given array is longer than the list, the element after the last one is set to null.
+	 *
+	 * @param a The array to fill, or whose type the new array gets
+	 * @return An array holding the elements of the list
+	 * @throws ArrayStoreException In case an element does not fit the type of the array
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] a) {
+		T[] result = a.length >= size ? a
+				: (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+		int i = 0;
+		for (Node<E> node = head; node != null; node = node.nextShort) {
+			result[i++] = (T) node.element;
+		}
+		if (result.length > size) {
+			result[size] = null;
+		}
+		return result;
+	}
+
+	/**
+	 * Moves all the elements of the list, in order, into the given collection and leaves the
+	 * list empty, in a single pass along the short links. If the collection refuses an element
+	 * with an exception, the elements it already took are removed from the list and the rest
+	 * stay.
+	 *
+	 * @param c The collection the elements are added to
+	 * @return The number of elements moved
+	 * @throws IllegalArgumentException In case the collection is this list
+	 */
+	public int drainTo(Collection<? super E> c) {
+		if (c == this) {
+			throw new IllegalArgumentException("Cannot drain a list into itself");
+		}
+		int moved = 0;
+		try {
+			for (Node<E> node = head; node != null; node = node.nextShort) {
+				c.add(node.element);
+				moved++;
+			}
+		}
+		finally {
+			if (moved == size) {
+				clear();
+			}
+			else {
+				for (int i = 0; i < moved; i++) {
+					unlink(head, 0);
+				}
+			}
+		}
+		return moved;
 	}
 
+	/**
+	 * Performs the action on the elements from index from up to but not including index to, in
+	 * order. The first element is found with a single lookup along the long links, and the rest
+	 * are reached along the short links.
+	 *
+	 * @param from The index of the first element
+	 * @param to The index after the last element
+	 * @param action The action to be performed on each element
+	 * @throws IndexOutOfBoundsException In case from is less than 0, to is bigger than size, or from is bigger than to
+	 * @throws ConcurrentModificationException In case the action changed the structure of the list
+	 */
+	public void forEachRange(int from, int to, Consumer<? super E> action) {
+		Objects.requireNonNull(action);
+		if (from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (from == to) {
+			return;
+		}
+		new ExpressSpliterator(node(from), from, to - from, modCount).forEachRemaining(action);
+	}
 
+	/**
+	 * Performs the action on the elements from index from up to but not including index to in
+	 * the given pool, with the range split among its workers the way parallel streams split
+	 * the list, by hopping along the long links to the middle of each part. The action may run
+	 * on several threads at once and in no particular order, and the list must not change until
+	 * this returns.
+	 *
+	 * @param from The index of the first element
+	 * @param to The index after the last element
+	 * @param action The action to be performed on each element
+	 * @param pool The pool that runs the parts
+	 * @throws IndexOutOfBoundsException In case from is less than 0, to is bigger than size, or from is bigger than to
+	 */
+	public void forEachRange(int from, int to, Consumer<? super E> action, ForkJoinPool pool) {
+		Objects.requireNonNull(action);
+		if (from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (from == to) {
+			return;
+		}
+		// About 8 parts per worker, so that uneven actions still balance
+		int leaf = Math.max(1024, (to - from) / (pool.getParallelism() * 8));
+		pool.invoke(new RangeTask<>(new ExpressSpliterator(node(from), from, to - from, modCount), action, leaf));
+	}
 
+	/**
+	 * Task of forEachRange that splits its range in halves until the parts are small enough,
+	 * then runs the action on its part.
+	 */
+	private static class RangeTask<E> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
 
+		private final Spliterator<E> range;
+		private final Consumer<? super E> action;
+		private final int leaf;
 
+		RangeTask(Spliterator<E> range, Consumer<? super E> action, int leaf) {
+			this.range = range;
+			this.action = action;
+			this.leaf = leaf;
+		}
 
-
-	@Override
-	public boolean isEmpty() {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+		@Override
+		protected void compute() {
+			Spliterator<E> prefix = range.estimateSize() > leaf ? range.trySplit() : null;
+			if (prefix == null) {
+				range.forEachRemaining(action);
+				return;
+			}
+			invokeAll(new RangeTask<>(prefix, action, leaf), new RangeTask<>(range, action, leaf));
+		}
 	}
 
-	@Override
-	public boolean contains(Object o) {
-		throw new UnsupportedOperationException();
-	}
 
+
+	/**
+	 * Removes the first occurrence of the given element from the list, if there is one.
+	 * Indexed lists find its node in the hash index, other lists scan the short links.
+	 *
+	 * @param o The element to be removed
+	 * @return True if the list held the element
+	 */
 	@Override
-	public Iterator<E> iterator() {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+	public boolean remove(Object o) {
+		if (hashIndex != null) {
+			Finger<E> occurrence = indexedOccurrence(o, true);
+			if (occurrence == null) {
+				return false;
+			}
+			unlink(occurrence.node, occurrence.index);
+			return true;
+		}
+		int index = 0;
+		for (Node<E> node = head; node != null; node = node.nextShort) {
+			if (Objects.equals(o, node.element)) {
+				unlink(node, index);
+				return true;
+			}
+			index++;
+		}
+		return false;
 	}
 
+	/**
+	 * Returns whether the list holds every element of the given collection.
+	 *
+	 * @param c The collection whose elements are looked for
+	 * @return True if the list holds all of them
+	 */
 	@Override
-	public Object[] toArray() {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
-
+	public boolean containsAll(Collection<?> c) {
+		for (Object o : c) {
+			if (!contains(o)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
+	/**
+	 * Inserts all the elements of the given collection at the given index position, in the
+	 * order of its toArray(), shifting the element at that index and its following elements to
+	 * the right. The index is looked up once, the new nodes are linked to each other and spliced
+	 * in between two existing nodes, and a single relink pass then sets the long links of the
+	 * new nodes together with those of the stride nodes before them, so inserting k elements
+	 * costs one lookup plus O(k + stride).
+	 *
+	 * @param index The index at which the first element must be inserted
+	 * @param c The collection whose elements are inserted
+	 * @return Returns true if the list changed, false if the collection was empty
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
 	@Override
-	public <T> T[] toArray(T[] a) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
-	}
+	public boolean addAll(int index, Collection<? extends E> c) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (index == size) {
+			return addAll(c);
+		}
+		Object[] elements = c.toArray();
+		int count = elements.length;
+		if (count == 0) {
+			return false;
+		}
 
+		Node<E> current = node(index);
+		Node<E> prev = current.prevShort;
+
+		// Link the new nodes to each other first
+		Node<E> first = newNode(elementAt(elements, 0));
+		Node<E> last = first;
+		for (int i = 1; i < count; i++) {
+			Node<E> node = newNode(elementAt(elements, i));
+			last.nextShort = node;
+			node.prevShort = last;
+			last = node;
+		}
 
+		if (prev == null) {
+			head = first;
+		}
+		else {
+			preserve(prev);
+			prev.nextShort = first;
+			first.prevShort = prev;
+		}
+		last.nextShort = current;
+		current.prevShort = last;
+
+		// The new nodes and the stride nodes before them are all the long links that change
+		int start = Math.max(index - stride, 0);
+		Node<E> from = first;
+		for (int i = index; i > start; i--) {
+			from = from.prevShort;
+		}
+		relink(from, start, index - start + count);
 
-	@Override
-	public boolean remove(Object o) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+		if (lanes != null || hashIndex != null) {
+			Node<E> node = first;
+			for (int i = 0; i < count; i++) {
+				if (lanes != null) {
+					lanes.insert(index + i, node, size + i);
+				}
+				if (hashIndex != null) {
+					hashIndex.add(node);
+				}
+				node = node.nextShort;
+			}
+		}
+		finger = new Finger<>(first, index);
+		size += count;
+		modCount++;
+		if (adaptive) {
+			writes++;
+			tune();
+		}
+		return true;
 	}
 
+	/**
+	 * Removes every element that the given collection contains, in one pass along the short
+	 * links. Indexed lists removing only a few distinct elements find their nodes in the hash
+	 * index instead.
+	 *
+	 * @param c The collection of elements to be removed
+	 * @return True if the list changed
+	 */
 	@Override
-	public boolean containsAll(Collection<?> c) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+	public boolean removeAll(Collection<?> c) {
+		Objects.requireNonNull(c);
+		if (hashIndex != null && c.size() < size / stride && indexedCount(c) < size / stride) {
+			boolean changed = false;
+			for (Object o : c) {
+				for (Node<E> node : new ArrayList<>(hashIndex.occurrences(o))) {
+					unlink(node, position(node));
+					changed = true;
+				}
+			}
+			return changed;
+		}
+		return removeMatching(c, true);
 	}
 
-	@Override
-	public boolean addAll(Collection<? extends E> c) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+	/**
+	 * This is a helper method that counts the nodes the hash index holds for the elements of
+	 * the collection, stopping once the count reaches size / stride, past which removing them
+	 * one by one costs more than a single pass.
+	 */
+	private int indexedCount(Collection<?> c) {
+		int count = 0;
+		for (Object o : c) {
+			count += hashIndex.occurrences(o).size();
+			if (count >= size / stride) {
+				break;
+			}
+		}
+		return count;
 	}
 
+	/**
+	 * Removes every element that the given collection does not contain, in one pass along the
+	 * short links.
+	 *
+	 * @param c The collection of elements to be kept
+	 * @return True if the list changed
+	 */
 	@Override
-	public boolean addAll(int index, Collection<? extends E> c) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+	public boolean retainAll(Collection<?> c) {
+		return removeMatching(c, false);
 	}
 
+
+	/**
+	 * Replaces the element at the given index in the list. The node is found the same way as
+	 * by get(int), along the long links from the closest start, and only its element changes,
+	 * so no link is touched.
+	 *
+	 * @param index Index of the element to be replaced
+	 * @param element The new element
+	 * @return The element previously at the index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
 	@Override
-	public boolean removeAll(Collection<?> c) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+	public E set(int index, E element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		// Counted only, the stride is retuned at the next structural change so reads never relink
+		if (adaptive) {
+			reads++;
+		}
+		return replace(node(index), element);
 	}
 
+	/**
+	 * Replaces every element with the result of the operator applied to it, in a single pass
+	 * along the short links.
+	 *
+	 * @param operator The operator applied to each element
+	 * @throws ConcurrentModificationException If the operator changes the structure of the list
+	 */
 	@Override
-	public boolean retainAll(Collection<?> c) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+	public void replaceAll(UnaryOperator<E> operator) {
+		Objects.requireNonNull(operator);
+		int expectedModCount = modCount;
+		for (Node<E> node = head; node != null && modCount == expectedModCount; node = node.nextShort) {
+			replace(node, operator.apply(node.element));
+		}
+		if (modCount != expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	/**
+	 * Replaces every element with the result of the operator applied to it, in the given pool,
+	 * with the list split among its workers by hopping along the long links to the middle of
+	 * each part, as forEachRange does. The operator may run on several threads at once and in
+	 * no particular order, and the list must not change until this returns. Indexed lists, and
+	 * lists with a snapshot that can still be read, keep bookkeeping that is not thread safe,
+	 * so they replace the elements in a single pass on the calling thread instead.
+	 *
+	 * @param operator The operator applied to each element
+	 * @param pool The pool that runs the parts
+	 * @throws ConcurrentModificationException If the operator changes the structure of the list
+	 */
+	public void replaceAll(UnaryOperator<E> operator, ForkJoinPool pool) {
+		Objects.requireNonNull(operator);
+		if (hashIndex != null || !recyclable()) {
+			replaceAll(operator);
+			return;
+		}
+		if (size == 0) {
+			return;
+		}
+		int leaf = Math.max(1024, size / (pool.getParallelism() * 8));
+		pool.invoke(new ReplaceTask(new ExpressSpliterator(head, 0, size, modCount), operator, leaf));
 	}
 
+	/**
+	 * Task of the parallel replaceAll that splits its range in halves until the parts are small
+	 * enough, then replaces the elements of its part.
+	 */
+	private class ReplaceTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final ExpressSpliterator range;
+		private final UnaryOperator<E> operator;
+		private final int leaf;
 
-	@Override
-	public E set(int index, E element) {
-		// TODO Auto-generated method stub]
-		throw new UnsupportedOperationException();
+		ReplaceTask(ExpressSpliterator range, UnaryOperator<E> operator, int leaf) {
+			this.range = range;
+			this.operator = operator;
+			this.leaf = leaf;
+		}
+
+		@Override
+		protected void compute() {
+			ExpressSpliterator prefix = range.estimateSize() > leaf ? (ExpressSpliterator) range.trySplit() : null;
+			if (prefix == null) {
+				range.replaceRemaining(operator);
+				return;
+			}
+			invokeAll(new ReplaceTask(prefix, operator, leaf), new ReplaceTask(range, operator, leaf));
+		}
 	}
 
+	/**
+	 * Returns the index of the first occurrence of the given element, or -1 if there is none.
+	 * Indexed lists find the nodes in the hash index and work out their positions along the
+	 * long links, other lists scan the short links from the head.
+	 *
+	 * @param o The element to look for
+	 * @return The index of its first occurrence, or -1
+	 */
 	@Override
 	public int indexOf(Object o) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+		if (hashIndex != null) {
+			Finger<E> occurrence = indexedOccurrence(o, true);
+			return occurrence == null ? -1 : occurrence.index;
+		}
+		int index = 0;
+		for (Node<E> node = head; node != null; node = node.nextShort) {
+			if (Objects.equals(o, node.element)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
 	}
 
+	/**
+	 * Returns the index of the last occurrence of the given element, or -1 if there is none.
+	 * Indexed lists find the nodes in the hash index and work out their positions along the
+	 * long links, other lists scan the short links back from the tail.
+	 *
+	 * @param o The element to look for
+	 * @return The index of its last occurrence, or -1
+	 */
 	@Override
 	public int lastIndexOf(Object o) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+		if (hashIndex != null) {
+			Finger<E> occurrence = indexedOccurrence(o, false);
+			return occurrence == null ? -1 : occurrence.index;
+		}
+		int index = size - 1;
+		for (Node<E> node = tail; node != null; node = node.prevShort) {
+			if (Objects.equals(o, node.element)) {
+				return index;
+			}
+			index--;
+		}
+		return -1;
 	}
+	/**
+	 * Returns a list iterator over the elements of the list, starting at the head.
+	 *
+	 * @return A list iterator that starts at index 0
+	 */
 	@Override
 	public ListIterator<E> listIterator() {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+		return new ListItr(0);
 	}
 
+	/**
+	 * Returns a list iterator over the elements of the list, starting at the given index. The
+	 * start is found with the express lanes, every step after that is a single short link,
+	 * and remove, add and set at the cursor only repair the long links next to it.
+	 *
+	 * @param index The index of the first element to be returned by next()
+	 * @return A list iterator that starts at the given index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
 	@Override
 	public ListIterator<E> listIterator(int index) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return new ListItr(index);
+	}
+
+	/**
+	 * List iterator that keeps the node it will return next along with its index. Changes to
+	 * the list made other than through the iterator itself make it throw a
+	 * ConcurrentModificationException.
+	 */
+	private class ListItr implements ListIterator<E> {
+		private Node<E> next;
+		private Node<E> lastReturned;
+		private int nextIndex;
+		private int expectedModCount = modCount;
+
+		public ListItr(int index) {
+			next = index == size ? null : node(index);
+			nextIndex = index;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < size;
+		}
+
+		@Override
+		public E next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = next;
+			next = next.nextShort;
+			nextIndex++;
+			return lastReturned.element;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		@Override
+		public E previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			next = next == null ? tail : next.prevShort;
+			lastReturned = next;
+			nextIndex--;
+			return lastReturned.element;
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			Node<E> lastNext = lastReturned.nextShort;
+			if (next == lastReturned) {
+				// Returned by previous(), so the cursor stays in front of the gap
+				unlink(lastReturned, nextIndex);
+				next = lastNext;
+			}
+			else {
+				unlink(lastReturned, --nextIndex);
+			}
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void set(E e) {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			checkForComodification();
+			replace(lastReturned, e);
+		}
+
+		@Override
+		public void add(E e) {
+			checkForComodification();
+			if (next == null) {
+				ExpressLinkedList.this.add(e);
+			}
+			else {
+				linkBefore(e, next, nextIndex);
+			}
+			nextIndex++;
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			Objects.requireNonNull(action);
+			while (modCount == expectedModCount && nextIndex < size) {
+				action.accept(next.element);
+				lastReturned = next;
+				next = next.nextShort;
+				nextIndex++;
+			}
+			checkForComodification();
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
 	}
 
+	/**
+	 * Returns a live view of the elements from index fromIndex up to but not including index
+	 * toIndex, in constant time. Changes made through the view show in this list and the
+	 * other way round, except that structural changes made to this list directly invalidate
+	 * the view. Reads through the view start from the finger, so walking it in order costs one
+	 * short hop per element, and clear() on the view removes the whole range with one splice.
+	 *
+	 * @param fromIndex The index of the first element of the view
+	 * @param toIndex The index after the last element of the view
+	 * @return A list view of the range
+	 * @throws IndexOutOfBoundsException In case fromIndex is less than 0, toIndex is bigger than size, or fromIndex is bigger than toIndex
+	 */
 	@Override
 	public List<E> subList(int fromIndex, int toIndex) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException();
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException();
+		}
+		return new SubList(null, fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * View of a range of the list, or of a range of another view. It only records where the
+	 * range starts and how long it is, and hands every operation to the list with the index
+	 * shifted. Its own changes update the sizes of the views it was taken from.
+	 */
+	private class SubList extends AbstractList<E> {
+		private final SubList parent;
+		private final int offset;
+		private int size;
+		private int expectedModCount;
+
+		SubList(SubList parent, int offset, int size) {
+			this.parent = parent;
+			this.offset = offset;
+			this.size = size;
+			this.expectedModCount = ExpressLinkedList.this.modCount;
+		}
+
+		@Override
+		public E get(int index) {
+			checkIndex(index);
+			return ExpressLinkedList.this.get(offset + index);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			checkIndex(index);
+			return replace(node(offset + index), element);
+		}
+
+		@Override
+		public void add(int index, E element) {
+			checkForComodification();
+			if (index < 0 || index > size) {
+				throw new IndexOutOfBoundsException();
+			}
+			ExpressLinkedList.this.add(offset + index, element);
+			resize(1);
+		}
+
+		@Override
+		public E remove(int index) {
+			checkIndex(index);
+			E removed = ExpressLinkedList.this.remove(offset + index);
+			resize(-1);
+			return removed;
+		}
+
+		@Override
+		protected void removeRange(int fromIndex, int toIndex) {
+			checkForComodification();
+			ExpressLinkedList.this.removeRange(offset + fromIndex, offset + toIndex);
+			resize(fromIndex - toIndex);
+		}
+
+		@Override
+		public int size() {
+			checkForComodification();
+			return size;
+		}
+
+		@Override
+		public List<E> subList(int fromIndex, int toIndex) {
+			checkForComodification();
+			if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+				throw new IndexOutOfBoundsException();
+			}
+			return new SubList(this, offset + fromIndex, toIndex - fromIndex);
+		}
+
+		@Override
+		public ListIterator<E> listIterator(int index) {
+			checkForComodification();
+			if (index < 0 || index > size) {
+				throw new IndexOutOfBoundsException();
+			}
+			ListIterator<E> iterator = ExpressLinkedList.this.listIterator(offset + index);
+			return new ListIterator<E>() {
+				@Override
+				public boolean hasNext() {
+					return nextIndex() < size;
+				}
+
+				@Override
+				public E next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return iterator.next();
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return previousIndex() >= 0;
+				}
+
+				@Override
+				public E previous() {
+					if (!hasPrevious()) {
+						throw new NoSuchElementException();
+					}
+					return iterator.previous();
+				}
+
+				@Override
+				public int nextIndex() {
+					return iterator.nextIndex() - offset;
+				}
+
+				@Override
+				public int previousIndex() {
+					return iterator.previousIndex() - offset;
+				}
+
+				@Override
+				public void remove() {
+					iterator.remove();
+					resize(-1);
+				}
+
+				@Override
+				public void set(E e) {
+					iterator.set(e);
+				}
+
+				@Override
+				public void add(E e) {
+					iterator.add(e);
+					resize(1);
+				}
+			};
+		}
+
+		private void resize(int delta) {
+			for (SubList view = this; view != null; view = view.parent) {
+				view.size += delta;
+				view.expectedModCount = ExpressLinkedList.this.modCount;
+			}
+		}
+
+		private void checkIndex(int index) {
+			checkForComodification();
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException();
+			}
+		}
+
+		private void checkForComodification() {
+			if (ExpressLinkedList.this.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
 	}
 }
\ No newline at end of file
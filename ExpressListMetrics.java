@@ -0,0 +1,250 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters for the hot paths of {@link ExpressLinkedList}, attached to a list with
+ * setMetrics(). For every positional lookup it counts the long and short hops taken and the
+ * start the walk began from, for every mutation the number of nodes whose long links were
+ * repaired, and for get(int), add(int, E) and remove(int) it keeps a latency histogram.
+ *
+ * The histogram has log-linear buckets in the manner of HdrHistogram: values below 32 ns get a
+ * bucket each, and every power of two above that is split into 32 buckets, so a percentile is
+ * within about 3% of the true value. Counters may be read from any thread, including over JMX
+ * once the metrics are registered with register(), and one instance may be shared by several
+ * lists.
+ *
+ * @author Ariyan Sahebghalam, Eyosyas Andarge, Sadiq Azmi
+ */
+public class ExpressListMetrics implements ExpressListMetricsMBean {
+
+	/**
+	 * Operations whose latency is recorded.
+	 */
+	public enum Operation {
+		GET, ADD, REMOVE
+	}
+
+	/**
+	 * Where a lookup started walking from. LANES lookups descend the upper lanes of a
+	 * multi-level list, and their hops are not split into long and short ones.
+	 */
+	public enum Start {
+		HEAD, TAIL, FINGER, LANES
+	}
+
+	// Values below 2^SUB_BITS get a bucket each, every power of two above is split 2^SUB_BITS ways
+	private static final int SUB_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+	private final LongAdder lookups = new LongAdder();
+	private final LongAdder expressHops = new LongAdder();
+	private final LongAdder shortHops = new LongAdder();
+	private final LongAdder[] starts = new LongAdder[Start.values().length];
+	private final LongAdder repairs = new LongAdder();
+	private final LongAdder repairedLinks = new LongAdder();
+	private final AtomicLongArray[] latencies = new AtomicLongArray[Operation.values().length];
+
+	/**
+	 * Constructor that creates metrics with every counter at 0
+	 */
+	public ExpressListMetrics() {
+		for (int i = 0; i < starts.length; i++) {
+			starts[i] = new LongAdder();
+		}
+		for (int i = 0; i < latencies.length; i++) {
+			latencies[i] = new AtomicLongArray(BUCKETS);
+		}
+	}
+
+	/**
+	 * Records a positional lookup.
+	 *
+	 * @param start Where the walk started
+	 * @param express Number of long hops taken
+	 * @param normal Number of short hops taken
+	 */
+	void lookup(Start start, int express, int normal) {
+		lookups.increment();
+		starts[start.ordinal()].increment();
+		if (express > 0) {
+			expressHops.add(express);
+		}
+		if (normal > 0) {
+			shortHops.add(normal);
+		}
+	}
+
+	/**
+	 * Records a repair of the long links of the given number of nodes.
+	 */
+	void repair(int nodes) {
+		repairs.increment();
+		repairedLinks.add(nodes);
+	}
+
+	/**
+	 * Records the latency of one call of an operation.
+	 */
+	void latency(Operation operation, long nanos) {
+		latencies[operation.ordinal()].incrementAndGet(bucket(Math.max(nanos, 0)));
+	}
+
+	/**
+	 * Registers these metrics with the platform MBean server under
+	 * ExpressLinkedList:type=Metrics,name=<name>.
+	 *
+	 * @param name Name that tells the list apart from others
+	 * @return The name the metrics were registered under
+	 * @throws IllegalArgumentException If the name is malformed or already taken
+	 */
+	public ObjectName register(String name) {
+		try {
+			ObjectName objectName = new ObjectName("ExpressLinkedList:type=Metrics,name=" + ObjectName.quote(name));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+			return objectName;
+		}
+		catch (JMException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	@Override
+	public long getLookups() {
+		return lookups.sum();
+	}
+
+	@Override
+	public long getExpressHops() {
+		return expressHops.sum();
+	}
+
+	@Override
+	public long getShortHops() {
+		return shortHops.sum();
+	}
+
+	@Override
+	public long getHeadStarts() {
+		return starts[Start.HEAD.ordinal()].sum();
+	}
+
+	@Override
+	public long getTailStarts() {
+		return starts[Start.TAIL.ordinal()].sum();
+	}
+
+	@Override
+	public long getFingerStarts() {
+		return starts[Start.FINGER.ordinal()].sum();
+	}
+
+	@Override
+	public long getLaneStarts() {
+		return starts[Start.LANES.ordinal()].sum();
+	}
+
+	@Override
+	public long getRepairs() {
+		return repairs.sum();
+	}
+
+	@Override
+	public long getRepairedLinks() {
+		return repairedLinks.sum();
+	}
+
+	@Override
+	public long latencyPercentile(String operation, double percentile) {
+		return latencyPercentile(Operation.valueOf(operation), percentile);
+	}
+
+	/**
+	 * Returns the latency in nanoseconds below which the given percentage of the timed calls of
+	 * the operation fell, rounded up to the end of its histogram bucket.
+	 *
+	 * @param operation The operation
+	 * @param percentile Percentage between 0 and 100
+	 * @return The latency in nanoseconds, or 0 if no call was timed
+	 * @throws IllegalArgumentException If the percentage is out of range
+	 */
+	public long latencyPercentile(Operation operation, double percentile) {
+		if (!(percentile >= 0 && percentile <= 100)) {
+			throw new IllegalArgumentException("percentile " + percentile);
+		}
+		AtomicLongArray histogram = latencies[operation.ordinal()];
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = histogram.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return i + 1 < BUCKETS ? lowest(i + 1) - 1 : Long.MAX_VALUE;
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the number of timed calls of the operation.
+	 *
+	 * @param operation The operation
+	 * @return The number of calls recorded
+	 */
+	public long latencyCount(Operation operation) {
+		AtomicLongArray histogram = latencies[operation.ordinal()];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += histogram.get(i);
+		}
+		return total;
+	}
+
+	/**
+	 * Sets every counter back to 0. Calls recorded at the same time may be lost.
+	 */
+	@Override
+	public void reset() {
+		lookups.reset();
+		expressHops.reset();
+		shortHops.reset();
+		for (LongAdder start : starts) {
+			start.reset();
+		}
+		repairs.reset();
+		repairedLinks.reset();
+		for (AtomicLongArray histogram : latencies) {
+			for (int i = 0; i < BUCKETS; i++) {
+				histogram.set(i, 0);
+			}
+		}
+	}
+
+	private static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+	}
+
+	private static long lowest(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BITS);
+	}
+}
@@ -0,0 +1,37 @@
+/**
+ * Management interface of {@link ExpressListMetrics}, as seen through JMX.
+ *
+ * @author Ariyan Sahebghalam, Eyosyas Andarge, Sadiq Azmi
+ */
+public interface ExpressListMetricsMBean {
+
+	long getLookups();
+
+	long getExpressHops();
+
+	long getShortHops();
+
+	long getHeadStarts();
+
+	long getTailStarts();
+
+	long getFingerStarts();
+
+	long getLaneStarts();
+
+	long getRepairs();
+
+	long getRepairedLinks();
+
+	/**
+	 * Returns the latency in nanoseconds below which the given percentage of the timed calls of
+	 * an operation fell.
+	 *
+	 * @param operation GET, ADD or REMOVE
+	 * @param percentile Percentage between 0 and 100
+	 * @return The latency in nanoseconds, or 0 if no call was timed
+	 */
+	long latencyPercentile(String operation, double percentile);
+
+	void reset();
+}
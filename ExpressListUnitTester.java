@@ -1,11 +1,36 @@
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.management.ObjectName;
 
 import org.junit.FixMethodOrder;
 import org.junit.runners.MethodSorters;
@@ -112,6 +137,1116 @@ public class ExpressListUnitTester {
 		}
 	}
 
+	@Test
+	public void randomDifferential_25_pts(){
+		randomDifferential(new ExpressLinkedList<>(), 20000);
+	}
+
+	@Test
+	public void multiLevelDifferential_10_pts(){
+		randomDifferential(ExpressLinkedList.multiLevel(), 60000);
+	}
+
+	@Test
+	public void strideDifferential_10_pts(){
+		randomDifferential(ExpressLinkedList.withStride(2), 10000);
+		randomDifferential(ExpressLinkedList.withStride(3), 10000);
+		randomDifferential(ExpressLinkedList.withStride(37), 20000);
+		try{
+			ExpressLinkedList.withStride(1);
+			fail("Exception was to be thrown");
+		}catch (IllegalArgumentException e){
+			//OK
+		}
+	}
+
+	@Test
+	public void adaptiveStrideTester_10_pts() throws Exception {
+		Field stride = ExpressLinkedList.class.getDeclaredField("stride");
+		stride.setAccessible(true);
+		List <Integer> list1 = new ArrayList<>();
+		List <Integer> list2 = ExpressLinkedList.adaptive();
+		for (int i = 0; i < 20_000; i++){
+			list1.add(i);
+			list2.add(i);
+		}
+
+		// a read-only phase leaves the links alone, and the next change stretches the stride
+		// well past its default
+		Random rnd = new Random(3);
+		for (int i = 0; i < 60_000; i++){
+			int position = rnd.nextInt(list1.size());
+			assertEquals(list1.get(position), list2.get(position));
+		}
+		assertEquals(8, stride.getInt(list2));
+		list1.add(-1);
+		list2.add(-1);
+		int readStride = stride.getInt(list2);
+		assertTrue("read-mostly stride " + readStride, readStride > 8);
+
+		// a write-only phase should bring it back down
+		for (int i = 0; i < 60_000; i++){
+			int position = rnd.nextInt(list1.size());
+			list1.add(position, -i);
+			list2.add(position, -i);
+			list1.remove(position + 1);
+			list2.remove(position + 1);
+		}
+		assertTrue("write-heavy stride", stride.getInt(list2) < readStride);
+		randomDifferential(ExpressLinkedList.adaptive(), 20000);
+		for (int i = 0; i < list1.size(); i += 7){
+			assertEquals(list1.get(i), list2.get(i));
+		}
+	}
+
+	/**
+	 * Applies the same random mix of appends, inserts, removes and gets to an ArrayList and to
+	 * the list under test, comparing every result along the way.
+	 */
+	static void randomDifferential(List <Integer> list2, int operations){
+		Random rnd = new Random(2023);
+		List <Integer> list1 = new ArrayList<>();
+		for (int i = 0; i < operations; i++){
+			double op = rnd.nextDouble();
+			if (op < 0.3){
+				list1.add(i);
+				list2.add(i);
+			}
+			else if (op < 0.6){
+				int position = rnd.nextInt(list1.size()+1);
+				list1.add(position, i);
+				list2.add(position, i);
+			}
+			else if (op < 0.8){
+				if (list1.size() > 0){
+					int position = rnd.nextInt(list1.size());
+					assertEquals("randomDifferential_25_pts: remove(" + position + ")",
+							list1.remove(position), list2.remove(position));
+				}
+			}
+			else if (list1.size() > 0){
+				// probe both halves so the head and tail express routes are each exercised
+				int position = rnd.nextInt(list1.size());
+				assertEquals("randomDifferential_25_pts: get(" + position + ")",
+						list1.get(position), list2.get(position));
+			}
+			assertEquals(list1.size(), list2.size());
+		}
+
+		for (int i = 0; i < list1.size(); i++){
+			assertEquals("randomDifferential_25_pts: " + i, list1.get(i), list2.get(i));
+		}
+		assertEquals(list1.toString(), list2.toString());
+	}
+
+	@Test
+	public void addAllTester_10_pts(){
+		addAllDifferential(new ExpressLinkedList<>());
+	}
+
+	static void addAllDifferential(List <Integer> list2){
+		List <Integer> list1 = new ArrayList<>();
+		assertFalse(list2.addAll(new ArrayList<>()));
+
+		// batch sizes chosen to cross the 8 node long link boundary at different offsets
+		int next = 0;
+		for (int batch : new int[] {1, 6, 1, 3, 9, 17, 64, 0, 1000}){
+			List <Integer> items = new ArrayList<>();
+			for (int i = 0; i < batch; i++) items.add(next++);
+			assertEquals(list1.addAll(items), list2.addAll(items));
+			list2.add(next);
+			list1.add(next++);
+			for (int i = 0; i < list1.size(); i++){
+				assertEquals("addAllTester_10_pts: " + i, list1.get(i), list2.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void listIteratorDifferential_10_pts(){
+		listIteratorDifferential(new ExpressLinkedList<>());
+	}
+
+	static void listIteratorDifferential(List <Integer> list2){
+		Random rnd = new Random(7);
+		List <Integer> list1 = new ArrayList<>();
+		for (int i = 0; i < 500; i++){
+			list1.add(i);
+			list2.add(i);
+		}
+
+		int start = 250;
+		ListIterator <Integer> it1 = list1.listIterator(start);
+		ListIterator <Integer> it2 = list2.listIterator(start);
+		boolean canModify = false;
+		for (int i = 0; i < 20000; i++){
+			double op = rnd.nextDouble();
+			if (op < 0.3 && it1.hasNext()){
+				assertEquals(it1.next(), it2.next());
+				canModify = true;
+			}
+			else if (op < 0.6 && it1.hasPrevious()){
+				assertEquals(it1.previous(), it2.previous());
+				canModify = true;
+			}
+			else if (op < 0.75){
+				it1.add(-i);
+				it2.add(-i);
+				canModify = false;
+			}
+			else if (op < 0.9 && canModify){
+				it1.remove();
+				it2.remove();
+				canModify = false;
+			}
+			else if (canModify){
+				it1.set(i);
+				it2.set(i);
+			}
+			assertEquals(it1.nextIndex(), it2.nextIndex());
+			assertEquals(it1.hasNext(), it2.hasNext());
+			assertEquals(it1.hasPrevious(), it2.hasPrevious());
+		}
+
+		assertEquals(list1.size(), list2.size());
+		for (int i = 0; i < list1.size(); i++){
+			assertEquals("listIteratorDifferential_10_pts: " + i, list1.get(i), list2.get(i));
+		}
+
+		int i = 0;
+		for (Integer value : list2){
+			assertEquals(list1.get(i++), value);
+		}
+		assertEquals(list1.size(), i);
+	}
+
+	@Test
+	public void iteratorFailFast_5_pts(){
+		iteratorFailFast(new ExpressLinkedList<>());
+	}
+
+	static void iteratorFailFast(List <Integer> list){
+		for (int i = 0; i < 20; i++) list.add(i);
+		Iterator <Integer> it = list.iterator();
+		it.next();
+		list.add(20);
+		try{
+			it.next();
+			fail("Exception was to be thrown");
+		}catch (ConcurrentModificationException e){
+			//OK
+		}
+
+		it = list.iterator();
+		try{
+			it.remove();
+			fail("Exception was to be thrown");
+		}catch (IllegalStateException e){
+			//OK
+		}
+		while (it.hasNext()){
+			if (it.next() % 2 == 0) it.remove();
+		}
+		assertEquals("[1, 3, 5, 7, 9, 11, 13, 15, 17, 19]", list.toString());
+		assertEquals(Integer.valueOf(19), list.get(9));
+	}
+
+	@Test
+	public void parallelStreamTester_10_pts(){
+		List <Integer> list1 = new ArrayList<>();
+		List <Integer> list2 = new ExpressLinkedList<>();
+		List <Integer> list3 = ExpressLinkedList.multiLevel();
+		for (int i = 0; i < 100_003; i++){
+			list1.add(i);
+			list2.add(i);
+			list3.add(i);
+		}
+
+		Spliterator <Integer> split = list2.spliterator();
+		assertTrue(split.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+		assertEquals(100_003, split.getExactSizeIfKnown());
+		Spliterator <Integer> prefix = split.trySplit();
+		assertEquals(100_003, prefix.estimateSize() + split.estimateSize());
+		assertEquals(0, prefix.estimateSize() % 8);
+
+		long expected = list1.stream().mapToLong(Integer::longValue).sum();
+		assertEquals(expected, list2.parallelStream().mapToLong(Integer::longValue).sum());
+		assertEquals(list1, list2.parallelStream().map(i -> i).collect(Collectors.toList()));
+		assertEquals(list1, list3.parallelStream().map(i -> i).collect(Collectors.toList()));
+		assertEquals(list1.subList(0, 10), list2.stream().limit(10).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void spliteratorFailFast_5_pts(){
+		ExpressLinkedList <Integer> list = new ExpressLinkedList<>();
+		for (int i = 0; i < 100; i++) list.add(i);
+		try{
+			list.stream().forEach(x -> list.remove(x));
+			fail("Exception was to be thrown");
+		}catch (ConcurrentModificationException e){
+			//OK
+		}
+		assertEquals(99, list.size());
+
+		try{
+			list.forEachRange(0, 50, x -> list.remove(0));
+			fail("Exception was to be thrown");
+		}catch (ConcurrentModificationException e){
+			//OK
+		}
+		assertEquals(98, list.size());
+
+		try{
+			list.spliterator().tryAdvance(x -> list.add(x));
+			fail("Exception was to be thrown");
+		}catch (ConcurrentModificationException e){
+			//OK
+		}
+		assertEquals(99, list.size());
+	}
+
+	@Test
+	public void fingerSequentialTester_10_pts(){
+		fingerSequential(new ExpressLinkedList<>());
+		fingerSequential(ExpressLinkedList.multiLevel());
+	}
+
+	static void fingerSequential(List<Integer> list2){
+		List <Integer> list1 = new ArrayList<>();
+		Random random = new Random(2024);
+		for (int i = 0; i < 5_000; i++){
+			list1.add(i);
+			list2.add(i);
+		}
+
+		// Forward and backward scans, with the finger a single step away each time
+		for (int i = 0; i < list1.size(); i++){
+			assertEquals("fingerSequentialTester_10_pts: get(" + i + ")", list1.get(i), list2.get(i));
+		}
+		for (int i = list1.size() - 1; i >= 0; i--){
+			assertEquals("fingerSequentialTester_10_pts: get(" + i + ")", list1.get(i), list2.get(i));
+		}
+
+		// Removing every other element from a moving position, then inserting around it
+		for (int i = 1000; i < list1.size() && i < 3000; i++){
+			assertEquals("fingerSequentialTester_10_pts: remove(" + i + ")", list1.remove(i), list2.remove(i));
+		}
+		for (int i = 2000; i > 1000; i -= 3){
+			list1.add(i, -i);
+			list2.add(i, -i);
+			assertEquals("fingerSequentialTester_10_pts: get(" + (i + 1) + ")", list1.get(i + 1), list2.get(i + 1));
+		}
+
+		// Jumps near and far from the last position, with removals shifting the finger
+		for (int i = 0; i < 20_000; i++){
+			int position = random.nextInt(list1.size());
+			if (i % 4 == 0){
+				assertEquals("fingerSequentialTester_10_pts: remove(" + position + ")",
+						list1.remove(position), list2.remove(position));
+				list1.add(i);
+				list2.add(i);
+			}
+			assertEquals("fingerSequentialTester_10_pts: get(" + position + ")", list1.get(position), list2.get(position));
+			int near = Math.min(list1.size() - 1, Math.max(0, position + random.nextInt(21) - 10));
+			assertEquals("fingerSequentialTester_10_pts: get(" + near + ")", list1.get(near), list2.get(near));
+		}
+		assertEquals(list1.toString(), list2.toString());
+
+		list2.clear();
+		list2.add(7);
+		assertEquals(Integer.valueOf(7), list2.get(0));
+	}
+
+	@Test
+	public void concurrentReadTester_10_pts() throws Exception {
+		concurrentRead(new ExpressLinkedList<>());
+		concurrentRead(ExpressLinkedList.multiLevel());
+	}
+
+	static void concurrentRead(List<Integer> list) throws Exception {
+		for (int i = 0; i < 100_000; i++){
+			list.add(i);
+		}
+
+		// Read-only get() calls move the finger on every thread, which must never leave one
+		// thread starting from a node paired with the index of another
+		ConcurrentExpressListUnitTester.runThreads(4, t -> {
+			Random random = new Random(t);
+			for (int round = 0; round < 2000; round++){
+				int from = random.nextInt(list.size() - 50);
+				for (int i = from; i < from + 50; i++){
+					assertEquals("concurrentReadTester_10_pts: get(" + i + ")", Integer.valueOf(i), list.get(i));
+				}
+			}
+		});
+	}
+
+	@Test
+	public void snapshotTester_10_pts(){
+		ExpressLinkedList <Integer> list2 = new ExpressLinkedList<>();
+		List <Integer> list1 = new ArrayList<>();
+		List <List<Integer>> expected = new ArrayList<>();
+		List <List<Integer>> snapshots = new ArrayList<>();
+		Random rnd = new Random(5);
+		for (int i = 0; i < 2000; i++){
+			list1.add(i);
+			list2.add(i);
+		}
+
+		// Snapshots taken between rounds of inserts, removes and sets must keep their contents
+		for (int round = 0; round < 10; round++){
+			expected.add(new ArrayList<>(list1));
+			snapshots.add(list2.snapshot());
+			for (int i = 0; i < 300; i++){
+				int position = rnd.nextInt(list1.size());
+				switch (rnd.nextInt(4)){
+				case 0:
+					list1.add(position, -i);
+					list2.add(position, -i);
+					break;
+				case 1:
+					assertEquals(list1.remove(position), list2.remove(position));
+					break;
+				case 2:
+					list1.add(i);
+					list2.add(i);
+					break;
+				default:
+					list1.set(position, i * 7);
+					ListIterator <Integer> it = list2.listIterator(position);
+					it.next();
+					it.set(i * 7);
+				}
+			}
+		}
+		assertEquals(list1.toString(), list2.toString());
+		for (int i = 0; i < snapshots.size(); i++){
+			assertEquals("snapshotTester_10_pts: round " + i, expected.get(i), snapshots.get(i));
+			assertEquals(expected.get(i).get(i * 17), snapshots.get(i).get(i * 17));
+		}
+		try{
+			snapshots.get(0).add(1);
+			fail("Exception was to be thrown");
+		}catch (UnsupportedOperationException e){
+			//OK
+		}
+
+		// Without changes in between, the same snapshot is handed out again
+		List <Integer> snapshot = list2.snapshot();
+		assertSame(snapshot, list2.snapshot());
+		list2.clear();
+		assertEquals(list1, snapshot);
+		assertEquals(0, list2.snapshot().size());
+	}
+
+	@Test
+	public void snapshotConcurrentTester_10_pts() throws Exception {
+		ExpressLinkedList <Integer> list = new ExpressLinkedList<>();
+		for (int i = 0; i < 10_000; i++){
+			list.add(i);
+		}
+
+		// The writer hands snapshots to a reader, which iterates them while the writer keeps
+		// moving elements around
+		BlockingQueue <List<Integer>> handoff = new LinkedBlockingQueue<>();
+		ConcurrentExpressListUnitTester.runThreads(2, t -> {
+			if (t == 0){
+				Random rnd = new Random(6);
+				for (int round = 0; round < 20; round++){
+					handoff.add(list.snapshot());
+					for (int i = 0; i < 2000; i++){
+						list.add(rnd.nextInt(list.size()), list.remove(rnd.nextInt(list.size())));
+					}
+				}
+				return;
+			}
+			for (int round = 0; round < 20; round++){
+				List <Integer> snapshot;
+				try{
+					snapshot = handoff.take();
+				}catch (InterruptedException e){
+					throw new AssertionError(e);
+				}
+				long sum = 0;
+				int count = 0;
+				for (Integer value : snapshot){
+					sum += value;
+					count++;
+				}
+				assertEquals(10_000, count);
+				assertEquals(10_000L * 9_999 / 2, sum);
+			}
+		});
+	}
+
+	@Test
+	public void addAllIndexTester_10_pts(){
+		addAllIndexDifferential(new ExpressLinkedList<>());
+		addAllIndexDifferential(ExpressLinkedList.multiLevel());
+		addAllIndexDifferential(ExpressLinkedList.withStride(5));
+	}
+
+	static void addAllIndexDifferential(List <Integer> list2){
+		List <Integer> list1 = new ArrayList<>();
+		Random rnd = new Random(17);
+		for (int round = 0; round < 300; round++){
+			int index = rnd.nextInt(list1.size() + 1);
+			List <Integer> batch = new ArrayList<>();
+			for (int i = rnd.nextInt(round % 30 == 0 ? 400 : 20); i > 0; i--){
+				batch.add(round * 1000 + i);
+			}
+			assertEquals(list1.addAll(index, batch), list2.addAll(index, batch));
+			assertEquals(list1.size(), list2.size());
+			for (int i = 0; i < 30 && !list1.isEmpty(); i++){
+				int position = rnd.nextInt(list1.size());
+				assertEquals("addAllIndexTester_10_pts: get(" + position + ")", list1.get(position), list2.get(position));
+			}
+		}
+		assertEquals(list1.toString(), list2.toString());
+		for (int i = 0; i < 2000; i++){
+			int position = rnd.nextInt(list1.size());
+			assertEquals(list1.remove(position), list2.remove(position));
+		}
+		assertEquals(list1.toString(), list2.toString());
+		try{
+			list2.addAll(list2.size() + 1, batchOf(1));
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+	}
+
+	private static List<Integer> batchOf(int n){
+		List <Integer> batch = new ArrayList<>();
+		for (int i = 0; i < n; i++){
+			batch.add(i);
+		}
+		return batch;
+	}
+
+	@Test
+	public void bulkBuildTester_5_pts() throws Exception {
+		List <Integer> list1 = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++){
+			list1.add(i);
+		}
+		ExpressLinkedList <Integer> list2 = ExpressLinkedList.of(list1);
+		assertEquals(list1, list2);
+		assertEquals(list1, ExpressLinkedList.from(list1.toArray(new Integer[0])));
+		assertTrue(ExpressLinkedList.of(new ArrayList<Integer>()).isEmpty());
+		for (int size = 0; size < 20; size++){
+			List <Integer> items = list1.subList(0, size);
+			List <Integer> built = ExpressLinkedList.of(items);
+			for (int i = size - 1; i >= 0; i--){
+				assertEquals(items.get(i), built.get(i));
+			}
+		}
+
+		// Break the long link of the head, which a lookup from the head takes first
+		Field head = ExpressLinkedList.class.getDeclaredField("head");
+		head.setAccessible(true);
+		Object node = head.get(list2);
+		Field nextLong = node.getClass().getDeclaredField("nextLong");
+		nextLong.setAccessible(true);
+		nextLong.set(node, null);
+		list2.rebuildExpressLinks();
+		Random rnd = new Random(9);
+		for (int i = 0; i < 1000; i++){
+			int position = rnd.nextInt(list1.size());
+			assertEquals(list1.get(position), list2.get(position));
+		}
+
+		ExpressLinkedList <Integer> list3 = ExpressLinkedList.multiLevel();
+		list3.addAll(list1);
+		list3.rebuildExpressLinks();
+		for (int i = 0; i < 1000; i++){
+			int position = rnd.nextInt(list1.size());
+			assertEquals(list1.remove(position), list3.remove(position));
+		}
+		assertEquals(list1, list3);
+	}
+
+	@Test
+	public void sortTester_10_pts(){
+		Random rnd = new Random(23);
+		for (int size : new int[] {0, 1, 2, 7, 8, 9, 100, 1000, 54_321}){
+			for (List <Integer> list2 : Arrays.asList(new ExpressLinkedList<Integer>(),
+					ExpressLinkedList.<Integer>multiLevel(), ExpressLinkedList.<Integer>indexed())){
+				List <Integer> list1 = new ArrayList<>();
+				for (int i = 0; i < size; i++){
+					// Few distinct keys with the position as tie breaker, so stability shows
+					Integer value = rnd.nextInt(50) * 1_000_000 + i;
+					list1.add(value);
+					list2.add(value);
+				}
+				List <Integer> snapshot = list2 instanceof ExpressLinkedList
+						? ((ExpressLinkedList<Integer>) list2).snapshot() : null;
+				List <Integer> before = new ArrayList<>(list1);
+				Comparator <Integer> byKey = Comparator.comparing(v -> v / 1_000_000);
+				list1.sort(byKey);
+				list2.sort(byKey);
+				assertEquals(list1, list2);
+				assertEquals(before, snapshot);
+				for (int i = 0; i < 200 && !list1.isEmpty(); i++){
+					int position = rnd.nextInt(list1.size());
+					assertEquals("sortTester_10_pts: get(" + position + ")", list1.get(position), list2.get(position));
+					assertEquals(list1.indexOf(list1.get(position)), list2.indexOf(list1.get(position)));
+				}
+				list1.sort(null);
+				list2.sort(null);
+				assertEquals(list1, list2);
+				for (int i = 0; i < 100 && !list1.isEmpty(); i++){
+					int position = rnd.nextInt(list1.size());
+					assertEquals(list1.remove(position), list2.remove(position));
+					position = rnd.nextInt(list1.size() + 1);
+					list1.add(position, -i);
+					list2.add(position, -i);
+				}
+				assertEquals(list1, list2);
+			}
+		}
+
+		// A comparator that gives up half way leaves the list as it was
+		List <Integer> list = new ExpressLinkedList<>();
+		for (int i = 0; i < 1000; i++){
+			list.add(rnd.nextInt());
+		}
+		List <Integer> expected = new ArrayList<>(list);
+		int[] calls = {0};
+		try{
+			list.sort((x, y) -> {
+				if (++calls[0] == 3000){
+					throw new IllegalStateException();
+				}
+				return Integer.compare(x, y);
+			});
+			fail("Exception was to be thrown");
+		}catch (IllegalStateException e){
+			//OK
+		}
+		assertEquals(expected, list);
+		list.sort(null);
+		expected.sort(null);
+		assertEquals(expected, list);
+		assertEquals(expected.get(999), list.get(999));
+	}
+
+	@Test
+	public void setReplaceAllTester_10_pts(){
+		for (ExpressLinkedList <Integer> list2 : Arrays.asList(new ExpressLinkedList<Integer>(),
+				ExpressLinkedList.<Integer>indexed(), ExpressLinkedList.<Integer>multiLevel())){
+			List <Integer> list1 = new ArrayList<>();
+			try{
+				list2.set(0, 1);
+				fail("Exception was to be thrown");
+			}catch (IndexOutOfBoundsException e){
+				//OK
+			}
+			for (int i = 0; i < 50_000; i++){
+				list1.add(i);
+				list2.add(i);
+			}
+			Random rnd = new Random(29);
+			for (int i = 0; i < 2000; i++){
+				int position = rnd.nextInt(list1.size());
+				Integer value = rnd.nextInt(100);
+				assertEquals(list1.set(position, value), list2.set(position, value));
+				assertEquals(list1.get(position), list2.get(position));
+			}
+			assertEquals(list1, list2);
+			assertEquals(list1.indexOf(42), list2.indexOf(42));
+
+			List <Integer> snapshot = list2.snapshot();
+			List <Integer> before = new ArrayList<>(list1);
+			list1.replaceAll(x -> x * 3);
+			list2.replaceAll(x -> x * 3);
+			assertEquals(list1, list2);
+			assertEquals(before, snapshot);
+			assertEquals(list1.lastIndexOf(126), list2.lastIndexOf(126));
+
+			ForkJoinPool pool = new ForkJoinPool(4);
+			try{
+				list1.replaceAll(x -> x - 7);
+				list2.replaceAll(x -> x - 7, pool);
+				assertEquals(list1, list2);
+				assertEquals(list1.contains(-7), list2.contains(-7));
+			}finally{
+				pool.shutdown();
+			}
+		}
+
+		// Without snapshots or an index the parts run on the pool's threads
+		ExpressLinkedList <Integer> parallel = new ExpressLinkedList<>();
+		for (int i = 0; i < 100_000; i++){
+			parallel.add(i);
+		}
+		Set <String> threads = ConcurrentHashMap.newKeySet();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			parallel.replaceAll(x -> {
+				threads.add(Thread.currentThread().getName());
+				return -x;
+			}, pool);
+		}finally{
+			pool.shutdown();
+		}
+		assertFalse(threads.contains(Thread.currentThread().getName()));
+		for (int i = 0; i < 100_000; i += 7){
+			assertEquals(Integer.valueOf(-i), parallel.get(i));
+		}
+
+		List <Integer> list = new ExpressLinkedList<>();
+		for (int i = 0; i < 10; i++){
+			list.add(i);
+		}
+		try{
+			list.replaceAll(x -> {
+				list.add(x);
+				return x;
+			});
+			fail("Exception was to be thrown");
+		}catch (ConcurrentModificationException e){
+			//OK
+		}
+	}
+
+	@Test
+	public void streamTester_10_pts() throws Exception {
+		ExpressLinkedList <Integer> list1 = new ExpressLinkedList<>();
+		for (int i = 0; i < 100_000; i++){
+			list1.add(i * 7);
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		list1.writeTo(Channels.newChannel(bytes), ElementCodec.INT);
+		assertEquals(12 + 4 * 100_000, bytes.size());
+		ExpressLinkedList <Integer> list2 = ExpressLinkedList.readFrom(trickle(bytes.toByteArray()), ElementCodec.INT);
+		assertEquals(new ArrayList<>(list1), list2);
+		Random rnd = new Random(41);
+		for (int i = 0; i < 1000; i++){
+			int position = rnd.nextInt(list2.size());
+			assertEquals(list1.get(position), list2.get(position));
+			assertEquals(list1.remove(position), list2.remove(position));
+		}
+
+		// Variable width elements, one of them larger than the stream buffer
+		ExpressLinkedList <String> strings = new ExpressLinkedList<>();
+		StringBuilder large = new StringBuilder();
+		for (int i = 0; i < 30_000; i++){
+			large.append("\u00e9l\u00e9ment ");
+		}
+		for (int i = 0; i < 5000; i++){
+			strings.add(i == 2500 ? large.toString() : "s" + i);
+		}
+		strings.add("");
+		bytes.reset();
+		strings.writeTo(Channels.newChannel(bytes), ElementCodec.utf8());
+		assertEquals(new ArrayList<>(strings), ExpressLinkedList.readFrom(trickle(bytes.toByteArray()), ElementCodec.utf8()));
+		assertEquals(new ArrayList<>(strings), ExpressLinkedList.readFrom(Channels.newChannel(
+				new ByteArrayInputStream(bytes.toByteArray())), ElementCodec.utf8()));
+
+		try{
+			ExpressLinkedList.readFrom(trickle(bytes.toByteArray()), ElementCodec.INT);
+			fail("Exception was to be thrown");
+		}catch (IOException e){
+			//OK
+		}
+		try{
+			ExpressLinkedList.readFrom(trickle(Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1)), ElementCodec.utf8());
+			fail("Exception was to be thrown");
+		}catch (EOFException e){
+			//OK
+		}
+		bytes.reset();
+		new ExpressLinkedList<Long>().writeTo(Channels.newChannel(bytes), ElementCodec.LONG);
+		assertTrue(ExpressLinkedList.readFrom(trickle(bytes.toByteArray()), ElementCodec.LONG).isEmpty());
+	}
+
+	/**
+	 * Channel over the bytes that hands out at most 1000 bytes per read, so elements are split
+	 * between reads.
+	 */
+	private static ReadableByteChannel trickle(byte[] bytes){
+		ByteBuffer source = ByteBuffer.wrap(bytes);
+		return new ReadableByteChannel(){
+			@Override
+			public int read(ByteBuffer target){
+				if (!source.hasRemaining()){
+					return -1;
+				}
+				int n = Math.min(Math.min(1000, target.remaining()), source.remaining());
+				ByteBuffer slice = source.slice();
+				slice.limit(n);
+				target.put(slice);
+				source.position(source.position() + n);
+				return n;
+			}
+
+			@Override
+			public boolean isOpen(){
+				return true;
+			}
+
+			@Override
+			public void close(){
+			}
+		};
+	}
+
+	@Test
+	public void pooledTester_10_pts(){
+		randomDifferential(ExpressLinkedList.<Integer>pooled(64), 20000);
+
+		ExpressLinkedList <String> list = ExpressLinkedList.pooled(10_000);
+		List <String> mirror = new ArrayList<>();
+		Random rnd = new Random(3);
+		for (int round = 0; round < 20; round++){
+			for (int i = 0; i < 5000; i++){
+				String value = round + ":" + i;
+				int position = rnd.nextInt(mirror.size() + 1);
+				mirror.add(position, value);
+				list.add(position, value);
+			}
+			for (int i = 0; i < 1000; i++){
+				int position = rnd.nextInt(mirror.size());
+				assertEquals(mirror.remove(position), list.remove(position));
+			}
+			list.subList(100, 600).clear();
+			mirror.subList(100, 600).clear();
+			assertEquals(mirror, list);
+			if (round % 5 == 4){
+				list.clear();
+				mirror.clear();
+			}
+		}
+
+		// Nodes a live snapshot still walks must not be handed out again
+		List <String> snapshot = list.snapshot();
+		List <String> before = new ArrayList<>(mirror);
+		list.clear();
+		for (int i = 0; i < 4000; i++){
+			list.add("after " + i);
+		}
+		assertEquals(before, snapshot);
+		assertEquals("after 3999", list.get(3999));
+	}
+
+	@Test
+	public void pooledAllocationTester_5_pts(){
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)){
+			return;
+		}
+		com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+		long thread = Thread.currentThread().getId();
+		ExpressLinkedList <String> list = ExpressLinkedList.pooled(100_000);
+		for (int round = 0; round < 5; round++){
+			list.clear();
+			long allocated = allocations.getThreadAllocatedBytes(thread);
+			for (int i = 0; i < 100_000; i++){
+				list.add("x");
+			}
+			allocated = allocations.getThreadAllocatedBytes(thread) - allocated;
+			// The first round allocates the nodes, the others refill from the pool
+			assertTrue("round " + round + " allocated " + allocated, round == 0 || allocated < 200_000);
+		}
+	}
+
+	@Test
+	public void searchDuplicatesTester_5_pts(){
+		// 160k copies of one value between a few others, searched and removed from the front
+		List <Integer> list1 = new ArrayList<>();
+		List <Integer> list2 = ExpressLinkedList.indexed();
+		for (int i = 0; i < 160_000; i++){
+			Integer value = i % 40_000 == 0 ? -i : 7;
+			list1.add(value);
+			list2.add(value);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < 2000; i++){
+			assertEquals(list1.indexOf(7), list2.indexOf(7));
+			assertEquals(list1.lastIndexOf(7), list2.lastIndexOf(7));
+			assertTrue(list2.contains(7));
+			assertEquals(list1.remove(Integer.valueOf(7)), list2.remove(Integer.valueOf(7)));
+		}
+		List <Integer> some = Arrays.asList(7, -40_000);
+		assertEquals(list1.removeAll(some), list2.removeAll(some));
+		long elapsed = (System.nanoTime() - start) / 1_000_000;
+		assertEquals(list1, list2);
+		assertTrue("searchDuplicatesTester_5_pts: took " + elapsed + " ms", elapsed < 2000);
+	}
+
+	@Test
+	public void searchTester_10_pts(){
+		searchDifferential(new ExpressLinkedList<>());
+		searchDifferential(ExpressLinkedList.indexed());
+		searchDifferential(ExpressLinkedList.multiLevel());
+	}
+
+	static void searchDifferential(List <Integer> list2){
+		List <Integer> list1 = new ArrayList<>();
+		Random rnd = new Random(31);
+		// Few distinct values, so most of them occur many times
+		for (int i = 0; i < 3000; i++){
+			Integer value = rnd.nextInt(20) == 0 ? null : rnd.nextInt(500);
+			list1.add(value);
+			list2.add(value);
+		}
+		for (int round = 0; round < 3000; round++){
+			Integer value = rnd.nextInt(50) == 0 ? null : rnd.nextInt(600);
+			int op = rnd.nextInt(8);
+			if (op == 0){
+				assertEquals(list1.remove(value), list2.remove(value));
+			}
+			else if (op == 1){
+				int position = rnd.nextInt(list1.size() + 1);
+				list1.add(position, value);
+				list2.add(position, value);
+			}
+			else if (op == 2){
+				int position = rnd.nextInt(list1.size());
+				assertEquals(list1.set(position, value), list2.listIterator(position).next());
+				ListIterator <Integer> iterator = list2.listIterator(position);
+				iterator.next();
+				iterator.set(value);
+			}
+			else if (op == 3){
+				int position = rnd.nextInt(list1.size());
+				assertEquals(list1.remove(position), list2.remove(position));
+			}
+			assertEquals("contains(" + value + ")", list1.contains(value), list2.contains(value));
+			assertEquals("indexOf(" + value + ")", list1.indexOf(value), list2.indexOf(value));
+			assertEquals("lastIndexOf(" + value + ")", list1.lastIndexOf(value), list2.lastIndexOf(value));
+		}
+		assertEquals(list1, list2);
+
+		List <Integer> some = Arrays.asList(3, 4, null, 1000);
+		assertEquals(list1.containsAll(some), list2.containsAll(some));
+		assertTrue(list2.containsAll(list1.subList(100, 200)));
+		assertEquals(list1.removeAll(some), list2.removeAll(some));
+		assertEquals(list1, list2);
+		assertFalse(list2.contains(null));
+		List <Integer> many = new ArrayList<>();
+		for (int i = 0; i < 500; i += 3){
+			many.add(i);
+		}
+		assertEquals(list1.removeAll(many), list2.removeAll(many));
+		assertEquals(list1, list2);
+		assertEquals(list1.retainAll(new HashSet<>(list1.subList(0, 50))),
+				list2.retainAll(new HashSet<>(list2.subList(0, 50))));
+		assertEquals(list1, list2);
+		list2.subList(10, 40).clear();
+		list1.subList(10, 40).clear();
+		for (Integer value : new HashSet<>(list1)){
+			assertEquals(list1.indexOf(value), list2.indexOf(value));
+			assertEquals(list1.lastIndexOf(value), list2.lastIndexOf(value));
+		}
+		assertFalse(list2.isEmpty());
+		list2.clear();
+		assertTrue(list2.isEmpty());
+		assertFalse(list2.contains(list1.get(0)));
+		assertEquals(-1, list2.indexOf(list1.get(0)));
+	}
+
+	@Test
+	public void metricsTester_10_pts() throws Exception {
+		ExpressLinkedList <Integer> list = new ExpressLinkedList<>();
+		for (int i = 0; i < 1000; i++){
+			list.add(i);
+		}
+		ExpressListMetrics metrics = new ExpressListMetrics();
+		list.setMetrics(metrics);
+		assertSame(metrics, list.getMetrics());
+
+		// 3 short hops from the head, then a long and a short one from the tail, then 61 long
+		// and 2 short ones back from the finger left at 990
+		list.get(3);
+		list.get(990);
+		list.get(500);
+		assertEquals(3, metrics.getLookups());
+		assertEquals(1, metrics.getHeadStarts());
+		assertEquals(1, metrics.getTailStarts());
+		assertEquals(1, metrics.getFingerStarts());
+		assertEquals(62, metrics.getExpressHops());
+		assertEquals(6, metrics.getShortHops());
+
+		// Inserting at 500 repairs the links of the 8 nodes before it and its own
+		list.add(500, -1);
+		list.remove(0);
+		assertEquals(2, metrics.getRepairs());
+		assertEquals(9, metrics.getRepairedLinks());
+		assertEquals(3, metrics.latencyCount(ExpressListMetrics.Operation.GET));
+		assertEquals(1, metrics.latencyCount(ExpressListMetrics.Operation.ADD));
+		assertEquals(1, metrics.latencyCount(ExpressListMetrics.Operation.REMOVE));
+		long median = metrics.latencyPercentile(ExpressListMetrics.Operation.GET, 50);
+		assertTrue(median > 0);
+		assertTrue(median <= metrics.latencyPercentile(ExpressListMetrics.Operation.GET, 100));
+		assertEquals(0, new ExpressListMetrics().latencyPercentile(ExpressListMetrics.Operation.GET, 99));
+
+		ObjectName name = metrics.register("metricsTester");
+		try{
+			assertEquals(5L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Lookups"));
+		}finally{
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		}
+
+		list.setMetrics(null);
+		list.get(700);
+		assertEquals(5, metrics.getLookups());
+		metrics.reset();
+		assertEquals(0, metrics.getExpressHops());
+		assertEquals(0, metrics.latencyCount(ExpressListMetrics.Operation.GET));
+	}
+
+	@Test
+	public void bulkExportTester_10_pts(){
+		for (ExpressLinkedList <Integer> list2 : Arrays.asList(new ExpressLinkedList<Integer>(),
+				ExpressLinkedList.<Integer>multiLevel())){
+			List <Integer> list1 = new ArrayList<>();
+			for (int i = 0; i < 100_000; i++){
+				list1.add(i);
+				list2.add(i);
+			}
+			assertArrayEquals(list1.toArray(), list2.toArray());
+			assertArrayEquals(list1.toArray(new Integer[0]), list2.toArray(new Integer[0]));
+			Integer[] larger = new Integer[100_002];
+			larger[100_000] = -1;
+			assertSame(larger, list2.toArray(larger));
+			assertNull(larger[100_000]);
+			assertEquals(Integer.valueOf(99_999), larger[99_999]);
+
+			long[] sum = new long[1];
+			list2.forEachRange(12_345, 67_890, value -> sum[0] += value);
+			assertEquals(list1.subList(12_345, 67_890).stream().mapToLong(Integer::longValue).sum(), sum[0]);
+			LongAdder parallel = new LongAdder();
+			ForkJoinPool pool = new ForkJoinPool(4);
+			try{
+				list2.forEachRange(3, 99_999, parallel::add, pool);
+			}finally{
+				pool.shutdown();
+			}
+			assertEquals(list1.subList(3, 99_999).stream().mapToLong(Integer::longValue).sum(), parallel.sum());
+			list2.forEachRange(5, 5, value -> fail("empty range"));
+			try{
+				list2.forEachRange(10, 100_001, value -> {});
+				fail("Exception was to be thrown");
+			}catch (IndexOutOfBoundsException e){
+				//OK
+			}
+
+			List <Integer> drained = new ArrayList<>();
+			assertEquals(100_000, list2.drainTo(drained));
+			assertEquals(list1, drained);
+			assertEquals(0, list2.size());
+			assertEquals(0, list2.toArray().length);
+		}
+
+		// A collection that refuses an element keeps what it took, and the list keeps the rest
+		ExpressLinkedList <Integer> list = new ExpressLinkedList<>();
+		for (int i = 0; i < 50; i++){
+			list.add(i);
+		}
+		List <Integer> bounded = new ArrayList<Integer>(){
+			@Override
+			public boolean add(Integer e){
+				if (size() == 20) throw new IllegalStateException();
+				return super.add(e);
+			}
+		};
+		try{
+			list.drainTo(bounded);
+			fail("Exception was to be thrown");
+		}catch (IllegalStateException e){
+			//OK
+		}
+		assertEquals(20, bounded.size());
+		assertEquals(30, list.size());
+		for (int i = 0; i < 30; i++){
+			assertEquals(Integer.valueOf(i + 20), list.get(i));
+		}
+	}
+
+	@Test
+	public void subListTester_10_pts(){
+		subListDifferential(new ExpressLinkedList<>());
+		subListDifferential(ExpressLinkedList.multiLevel());
+		subListDifferential(ExpressLinkedList.withStride(3));
+
+		List <Integer> list = new ExpressLinkedList<>();
+		for (int i = 0; i < 10; i++){
+			list.add(i);
+		}
+		List <Integer> view = list.subList(2, 8);
+		assertEquals("[2, 3, 4, 5, 6, 7]", view.toString());
+		view.subList(1, 3).clear();
+		assertEquals("[2, 5, 6, 7]", view.toString());
+		assertEquals("[0, 1, 2, 5, 6, 7, 8, 9]", list.toString());
+		ListIterator <Integer> it = view.listIterator(4);
+		assertFalse(it.hasNext());
+		assertEquals(Integer.valueOf(7), it.previous());
+		it.add(-1);
+		assertEquals(Integer.valueOf(6), view.set(2, 60));
+		assertEquals("[0, 1, 2, 5, 60, -1, 7, 8, 9]", list.toString());
+		list.add(0, 0);
+		try{
+			view.get(0);
+			fail("Exception was to be thrown");
+		}catch (ConcurrentModificationException e){
+			//OK
+		}
+		try{
+			list.subList(5, 4);
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+	}
+
+	/**
+	 * Clears random ranges of the list through views, including ranges at either end, and
+	 * compares the list, every position and a view's contents with an ArrayList after each.
+	 */
+	static void subListDifferential(List<Integer> list2){
+		List <Integer> list1 = new ArrayList<>();
+		Random rnd = new Random(16);
+		for (int i = 0; i < 20_000; i++){
+			list1.add(i);
+			list2.add(i);
+		}
+		for (int round = 0; round < 200; round++){
+			int from = rnd.nextInt(list1.size() + 1);
+			int to = Math.min(list1.size(), from + rnd.nextInt(round % 10 == 0 ? 2000 : 40));
+			if (round % 25 == 0){
+				from = 0;
+			}
+			if (round % 25 == 1){
+				to = list1.size();
+			}
+			assertEquals(list1.subList(from, to), list2.subList(from, to));
+			list1.subList(from, to).clear();
+			list2.subList(from, to).clear();
+			assertEquals(list1.size(), list2.size());
+			for (int i = Math.max(0, from - 20); i < Math.min(list1.size(), from + 20); i++){
+				assertEquals("subListTester_10_pts: get(" + i + ")", list1.get(i), list2.get(i));
+			}
+			if (list1.size() < 100){
+				for (int i = 0; i < 5_000; i++){
+					list1.add(i);
+					list2.add(i);
+				}
+			}
+		}
+		for (int i = list1.size() - 1; i >= 0; i -= 3){
+			assertEquals("subListTester_10_pts: get(" + i + ")", list1.get(i), list2.get(i));
+		}
+		for (int i = 0; i < 1_000; i++){
+			int position = rnd.nextInt(list1.size());
+			list1.add(position, -i);
+			list2.add(position, -i);
+		}
+		assertEquals(list1, list2.subList(0, list2.size()));
+		assertEquals(list1.toString(), list2.toString());
+	}
+
 	@Test
 	public void getTester1_5_pts() {
 		ExpressLinkedList<String> list = new ExpressLinkedList<>();
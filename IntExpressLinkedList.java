@@ -0,0 +1,346 @@
+import java.util.Arrays;
+
+/**
+ * Quadruply-linked list of primitive int values.
+ * It has the same short links and long links as {@code ExpressLinkedList}, with the long links
+ * joining nodes 8 positions apart, so positional access takes O(n/8) hops. The nodes are not
+ * objects though: each node is a slot in five parallel int arrays holding its value and the slot
+ * numbers of its four neighbours. A value therefore costs 20 bytes of heap instead of a node and
+ * a boxed Integer, and the garbage collector has no per element objects to trace.
+ *
+ * @author Ariyan Sahebghalam, Eyosyas Andarge, Sadiq Azmi
+ */
+public class IntExpressLinkedList {
+
+	// Slot number standing for a missing link
+	private static final int NIL = -1;
+
+	private int[] values;
+	private int[] nextShort;
+	private int[] prevShort;
+	private int[] nextLong;
+	private int[] prevLong;
+
+	private int head = NIL;
+
+	private int tail = NIL;
+
+	private int size;
+
+	// Number of slots that have been handed out at least once since the last clear
+	private int used;
+
+	// First of the slots freed by removals, chained through nextShort
+	private int free = NIL;
+
+	/**
+	 * Constructor that creates an empty list
+	 */
+	public IntExpressLinkedList() {
+		values = new int[16];
+		nextShort = new int[16];
+		prevShort = new int[16];
+		nextLong = new int[16];
+		prevLong = new int[16];
+	}
+
+	/**
+	 * Appends a value to the end of the list in constant time, linking it to the node
+	 * 8 positions before it, which is the successor of the tail's long link partner.
+	 *
+	 * @param value The value to be appended
+	 * @return Returns true, as the list always changes
+	 */
+	public boolean addInt(int value) {
+		int node = allocate(value);
+		if (size == 0) {
+			head = node;
+		}
+		else {
+			nextShort[tail] = node;
+			prevShort[node] = tail;
+			if (size >= 8) {
+				int partner = size == 8 ? head : nextShort[prevLong[tail]];
+				nextLong[partner] = node;
+				prevLong[node] = partner;
+			}
+		}
+		tail = node;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Inserts a value at the given index position in the list, shifting the value at that
+	 * index and the ones after it one position to the right.
+	 *
+	 * @param index The index at which the value must be inserted
+	 * @param value The value to be inserted into the specified index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	public void addInt(int index, int value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (index == size) {
+			addInt(value);
+			return;
+		}
+
+		int current = node(index);
+		int node = allocate(value);
+		int prev = prevShort[current];
+
+		nextShort[node] = current;
+		prevShort[current] = node;
+		prevShort[node] = prev;
+		if (prev == NIL) {
+			head = node;
+		}
+		else {
+			nextShort[prev] = node;
+		}
+
+		// Only the pairs of nodes 8 apart that straddle the new node need new long links
+		int start = Math.max(index - 8, 0);
+		int from = node;
+		for (int i = index; i > start; i--) {
+			from = prevShort[from];
+		}
+		relink(from, start, index - start + 1);
+		size++;
+	}
+
+	/**
+	 * Removes the value at the given index, shifting the values after it one position to
+	 * the left. The slot it occupied is reused by a later insertion.
+	 *
+	 * @param index Index of the value to be removed
+	 * @return The value that was removed
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	public int removeAt(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int node = node(index);
+		int value = values[node];
+		int next = nextShort[node];
+		int prev = prevShort[node];
+
+		if (prev == NIL) {
+			head = next;
+		}
+		else {
+			nextShort[prev] = next;
+		}
+		if (next == NIL) {
+			tail = prev;
+		}
+		else {
+			prevShort[next] = prev;
+		}
+		release(node);
+
+		// Only the pairs of nodes 8 apart that straddle the gap need new long links
+		if (next != NIL || prev != NIL) {
+			int start = Math.max(index - 8, 0);
+			int from = prev == NIL ? next : prev;
+			for (int i = prev == NIL ? index : index - 1; i > start; i--) {
+				from = prevShort[from];
+			}
+			relink(from, start, index - start);
+		}
+
+		size--;
+		return value;
+	}
+
+	/**
+	 * Returns the value at the given index in the list.
+	 *
+	 * @param index Index of the value to be returned
+	 * @return Returns the value corresponding to the given index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	public int getInt(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return values[node(index)];
+	}
+
+	/**
+	 * Replaces the value at the given index in the list.
+	 *
+	 * @param index Index of the value to be replaced
+	 * @param value The new value
+	 * @return The value previously at the index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	public int setInt(int index, int value) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		int node = node(index);
+		int old = values[node];
+		values[node] = value;
+		return old;
+	}
+
+	/**
+	 * Returns the size of the list, meaning how many values are in the list.
+	 *
+	 * @return The integer number of values in the list
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns whether the list holds no values.
+	 *
+	 * @return True if the size of the list is 0
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Empties the list after the call and makes the size 0. The arrays keep their capacity.
+	 */
+	public void clear() {
+		head = NIL;
+		tail = NIL;
+		size = 0;
+		used = 0;
+		free = NIL;
+	}
+
+	/**
+	 * Returns the values of the list in order, in a new array.
+	 *
+	 * @return An array of length size holding the values of the list
+	 */
+	public int[] toArray() {
+		int[] result = new int[size];
+		int node = head;
+		for (int i = 0; i < size; i++) {
+			result[i] = values[node];
+			node = nextShort[node];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a String representation of the list, in the same format as {@code ExpressLinkedList}.
+	 *
+	 * @return String representation of the list
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		int node = head;
+		while (node != NIL) {
+			sb.append(values[node]);
+			node = nextShort[node];
+			if (node != NIL) {
+				sb.append(", ");
+			}
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+	/**
+	 * This is a helper method that returns the slot of the node at the given index, starting
+	 * from the closer end and taking the long links while they do not overshoot.
+	 */
+	private int node(int index) {
+		int pointer;
+		if (index < size / 2) {
+			int count = 0;
+			pointer = head;
+			while ((count + 8) <= index) {
+				pointer = nextLong[pointer];
+				count += 8;
+			}
+			while (count != index) {
+				pointer = nextShort[pointer];
+				count++;
+			}
+		}
+		else {
+			int count = size - 1;
+			pointer = tail;
+			while ((count - 8) >= index) {
+				pointer = prevLong[pointer];
+				count -= 8;
+			}
+			while (count != index) {
+				pointer = prevShort[pointer];
+				count--;
+			}
+		}
+		return pointer;
+	}
+
+	/**
+	 * This is a helper method that resets the long links of count consecutive nodes starting
+	 * at the given one, with a second pointer running 8 nodes ahead on the short links.
+	 */
+	private void relink(int from, int fromIndex, int count) {
+		int lead = from;
+		for (int i = 0; i < 8 && lead != NIL; i++) {
+			if (fromIndex + i < 8) {
+				prevLong[lead] = NIL;
+			}
+			lead = nextShort[lead];
+		}
+
+		for (int i = 0; i < count && from != NIL; i++) {
+			nextLong[from] = lead;
+			if (lead != NIL) {
+				prevLong[lead] = from;
+				lead = nextShort[lead];
+			}
+			from = nextShort[from];
+		}
+	}
+
+	/**
+	 * This is a helper method that hands out a slot for a new node with no links, reusing a
+	 * freed slot when there is one and growing the arrays by half when they are full.
+	 */
+	private int allocate(int value) {
+		int node;
+		if (free != NIL) {
+			node = free;
+			free = nextShort[node];
+		}
+		else {
+			if (used == values.length) {
+				int capacity = values.length + (values.length >> 1);
+				values = Arrays.copyOf(values, capacity);
+				nextShort = Arrays.copyOf(nextShort, capacity);
+				prevShort = Arrays.copyOf(prevShort, capacity);
+				nextLong = Arrays.copyOf(nextLong, capacity);
+				prevLong = Arrays.copyOf(prevLong, capacity);
+			}
+			node = used++;
+		}
+		values[node] = value;
+		nextShort[node] = NIL;
+		prevShort[node] = NIL;
+		nextLong[node] = NIL;
+		prevLong[node] = NIL;
+		return node;
+	}
+
+	private void release(int node) {
+		nextShort[node] = free;
+		free = node;
+	}
+}
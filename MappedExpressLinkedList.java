@@ -0,0 +1,560 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Quadruply-linked list kept off the heap in a memory-mapped file.
+ * It has the same short links and long links as {@code ExpressLinkedList}, with the long links
+ * joining nodes 8 positions apart, and the same node layout as {@code IntExpressLinkedList}:
+ * each node is a numbered slot, and the links are slot numbers instead of references. Here the
+ * slots live in the file, each holding its four links followed by the element, encoded with a
+ * fixed-width {@link ElementCodec}.
+ *
+ * The file starts with a header recording the size, the head, the tail and the free slots, and
+ * every change writes the header through, so a list opened again from the same file, even after
+ * the process was killed between two changes, is the list as it was, with no rebuilding.
+ * Surviving a crash of the machine as well takes a call to force(). The file is mapped in chunks of 65536 slots, which keeps each
+ * mapping under the 2 GB limit of a buffer while the list can grow to billions of bytes, and a
+ * full chunk grows the file by another one.
+ *
+ * The list is not thread safe, and only one list may have a file open at a time.
+ *
+ * @author Ariyan Sahebghalam, Eyosyas Andarge, Sadiq Azmi
+ * @param <E> elements type held in this collection
+ */
+public class MappedExpressLinkedList<E> extends AbstractList<E> implements Closeable {
+
+	// Slot number standing for a missing link
+	private static final int NIL = -1;
+
+	// Distance in nodes spanned by every long link
+	private static final int STRIDE = 8;
+
+	// "EXL1", marks a file written by this class
+	private static final int MAGIC = 0x45584C31;
+
+	// Header layout
+	private static final int HEADER = 64;
+	private static final int MAGIC_AT = 0;
+	private static final int WIDTH_AT = 4;
+	private static final int SIZE_AT = 8;
+	private static final int HEAD_AT = 12;
+	private static final int TAIL_AT = 16;
+	private static final int USED_AT = 20;
+	private static final int FREE_AT = 24;
+
+	// Slot layout, the element follows the links
+	private static final int NEXT_SHORT = 0;
+	private static final int PREV_SHORT = 4;
+	private static final int NEXT_LONG = 8;
+	private static final int PREV_LONG = 12;
+	private static final int ELEMENT = 16;
+
+	// Slots per mapped chunk
+	private static final int CHUNK_BITS = 16;
+	private static final int CHUNK_SLOTS = 1 << CHUNK_BITS;
+
+	private final FileChannel channel;
+
+	private final ElementCodec<E> codec;
+
+	// Bytes per slot
+	private final int width;
+
+	private final MappedByteBuffer header;
+
+	private MappedByteBuffer[] chunks;
+
+	private int chunkCount;
+
+	private int head;
+
+	private int tail;
+
+	private int size;
+
+	// Number of slots that have been handed out at least once since the last clear
+	private int used;
+
+	// First of the slots freed by removals, chained through nextShort
+	private int free;
+
+	private MappedExpressLinkedList(FileChannel channel, ElementCodec<E> codec) throws IOException {
+		this.channel = channel;
+		this.codec = codec;
+		this.width = ELEMENT + codec.width();
+		boolean created = channel.size() == 0;
+		if (!created && channel.size() < HEADER) {
+			throw new IOException("Not a list file, too short for the header");
+		}
+		header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+		if (created) {
+			header.putInt(MAGIC_AT, MAGIC);
+			header.putInt(WIDTH_AT, codec.width());
+			head = NIL;
+			tail = NIL;
+			free = NIL;
+			store();
+		}
+		else {
+			if (header.getInt(MAGIC_AT) != MAGIC) {
+				throw new IOException("Not a list file, bad magic number");
+			}
+			if (header.getInt(WIDTH_AT) != codec.width()) {
+				throw new IOException("List file holds elements of " + header.getInt(WIDTH_AT)
+						+ " bytes, the codec writes " + codec.width());
+			}
+			size = header.getInt(SIZE_AT);
+			head = header.getInt(HEAD_AT);
+			tail = header.getInt(TAIL_AT);
+			used = header.getInt(USED_AT);
+			free = header.getInt(FREE_AT);
+		}
+
+		long chunkBytes = (long) CHUNK_SLOTS * width;
+		chunks = new MappedByteBuffer[4];
+		while (HEADER + chunkCount * chunkBytes < channel.size()) {
+			map();
+		}
+	}
+
+	/**
+	 * Opens the list kept in the given file, creating an empty list if the file does not exist
+	 * or is empty. Opening an existing list maps the file and reads the header, whatever the
+	 * size of the list.
+	 *
+	 * @param <E> elements type held in the list
+	 * @param file The file holding the list
+	 * @param codec Codec for the elements, with the width the file was created with
+	 * @return Returns the list kept in the file
+	 * @throws IOException If the file cannot be opened or mapped, or holds something else
+	 * @throws IllegalArgumentException If the codec's width is below 1 or above 32000 bytes
+	 */
+	public static <E> MappedExpressLinkedList<E> open(Path file, ElementCodec<E> codec) throws IOException {
+		if (codec.width() < 1 || codec.width() > 32000) {
+			throw new IllegalArgumentException("Codec width must be between 1 and 32000: " + codec.width());
+		}
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			return new MappedExpressLinkedList<>(channel, codec);
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Appends a given Object to the end of the list in constant time, linking it to the node
+	 * 8 positions before it, which is the successor of the tail's long link partner.
+	 *
+	 * @param e The element to be appended
+	 * @return Returns true, as the list always changes
+	 */
+	@Override
+	public boolean add(E e) {
+		int node = allocate(e);
+		if (size == 0) {
+			head = node;
+		}
+		else {
+			link(tail, NEXT_SHORT, node);
+			link(node, PREV_SHORT, tail);
+			if (size >= STRIDE) {
+				int partner = size == STRIDE ? head : link(link(tail, PREV_LONG), NEXT_SHORT);
+				link(partner, NEXT_LONG, node);
+				link(node, PREV_LONG, partner);
+			}
+		}
+		tail = node;
+		size++;
+		modCount++;
+		store();
+		return true;
+	}
+
+	/**
+	 * Inserts the specified element at the given index position in the list, shifting the
+	 * element at that index and the ones after it one position to the right.
+	 *
+	 * @param index The index at which the element must be inserted
+	 * @param element The element to be inserted into the specified index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	@Override
+	public void add(int index, E element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (index == size) {
+			add(element);
+			return;
+		}
+
+		int current = node(index);
+		int node = allocate(element);
+		int prev = link(current, PREV_SHORT);
+
+		link(node, NEXT_SHORT, current);
+		link(current, PREV_SHORT, node);
+		link(node, PREV_SHORT, prev);
+		if (prev == NIL) {
+			head = node;
+		}
+		else {
+			link(prev, NEXT_SHORT, node);
+		}
+
+		// Only the pairs of nodes 8 apart that straddle the new node need new long links
+		int start = Math.max(index - STRIDE, 0);
+		int from = node;
+		for (int i = index; i > start; i--) {
+			from = link(from, PREV_SHORT);
+		}
+		relink(from, start, index - start + 1);
+		size++;
+		modCount++;
+		store();
+	}
+
+	/**
+	 * Removes the element at the given index, shifting the elements after it one position to
+	 * the left. The slot it occupied is reused by a later insertion.
+	 *
+	 * @param index Index of the element to be removed
+	 * @return The element that was removed
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return unlink(node(index), index);
+	}
+
+	/**
+	 * Returns the element at the given index in the list.
+	 *
+	 * @param index Index of the element to be returned
+	 * @return Returns the element corresponding to the given index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return element(node(index));
+	}
+
+	/**
+	 * Replaces the element at the given index in the list, in place.
+	 *
+	 * @param index Index of the element to be replaced
+	 * @param element The new element
+	 * @return The element previously at the index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E set(int index, E element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		int node = node(index);
+		E old = element(node);
+		codec.write(chunks[node >>> CHUNK_BITS], offset(node) + ELEMENT, element);
+		return old;
+	}
+
+	/**
+	 * Returns the size of the list, meaning how many elements are in the list.
+	 *
+	 * @return The integer number of elements in the list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Empties the list after the call and makes the size 0. The file keeps its length, and its
+	 * slots are handed out again by later additions.
+	 */
+	@Override
+	public void clear() {
+		head = NIL;
+		tail = NIL;
+		size = 0;
+		used = 0;
+		free = NIL;
+		modCount++;
+		store();
+	}
+
+	/**
+	 * Returns an iterator that walks the short links from the head, taking constant time per
+	 * element. Its remove() unlinks the last element returned without a lookup.
+	 *
+	 * @return An iterator over the elements in order
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int next = head;
+			private int nextIndex;
+			private int lastReturned = NIL;
+			private int expectedModCount = modCount;
+
+			@Override
+			public boolean hasNext() {
+				return nextIndex < size;
+			}
+
+			@Override
+			public E next() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (nextIndex >= size) {
+					throw new NoSuchElementException();
+				}
+				lastReturned = next;
+				next = link(next, NEXT_SHORT);
+				nextIndex++;
+				return element(lastReturned);
+			}
+
+			@Override
+			public void remove() {
+				if (lastReturned == NIL) {
+					throw new IllegalStateException();
+				}
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				unlink(lastReturned, --nextIndex);
+				lastReturned = NIL;
+				expectedModCount = modCount;
+			}
+		};
+	}
+
+	/**
+	 * Writes every change made so far through to the storage device, so that it also survives
+	 * a crash of the machine.
+	 */
+	public void force() {
+		header.force();
+		for (int i = 0; i < chunkCount; i++) {
+			chunks[i].force();
+		}
+	}
+
+	/**
+	 * Forces the changes to the storage device and closes the file. The list must not be used
+	 * afterwards.
+	 *
+	 * @throws IOException If the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		force();
+		chunks = null;
+		channel.close();
+	}
+
+	/**
+	 * This is a helper method that unlinks the node in the given slot, which sits at the given
+	 * index, repairs the long links around the gap and frees the slot.
+	 */
+	private E unlink(int node, int index) {
+		E element = element(node);
+		int next = link(node, NEXT_SHORT);
+		int prev = link(node, PREV_SHORT);
+
+		if (prev == NIL) {
+			head = next;
+		}
+		else {
+			link(prev, NEXT_SHORT, next);
+		}
+		if (next == NIL) {
+			tail = prev;
+		}
+		else {
+			link(next, PREV_SHORT, prev);
+		}
+		release(node);
+
+		// Only the pairs of nodes 8 apart that straddle the gap need new long links
+		if (next != NIL || prev != NIL) {
+			int start = Math.max(index - STRIDE, 0);
+			int from = prev == NIL ? next : prev;
+			for (int i = prev == NIL ? index : index - 1; i > start; i--) {
+				from = link(from, PREV_SHORT);
+			}
+			relink(from, start, index - start);
+		}
+
+		size--;
+		modCount++;
+		store();
+		return element;
+	}
+
+	/**
+	 * This is a helper method that returns the slot of the node at the given index, starting
+	 * from the closer end and taking the long links while they do not overshoot.
+	 */
+	private int node(int index) {
+		int pointer;
+		if (index < size / 2) {
+			int count = 0;
+			pointer = head;
+
+			// Express route
+			while ((count + STRIDE) <= index) {
+				pointer = link(pointer, NEXT_LONG);
+				count += STRIDE;
+			}
+
+			// Normal route
+			while (count != index) {
+				pointer = link(pointer, NEXT_SHORT);
+				count++;
+			}
+		}
+		else {
+			int count = size - 1;
+			pointer = tail;
+
+			// Express route
+			while ((count - STRIDE) >= index) {
+				pointer = link(pointer, PREV_LONG);
+				count -= STRIDE;
+			}
+
+			// Normal route
+			while (count != index) {
+				pointer = link(pointer, PREV_SHORT);
+				count--;
+			}
+		}
+		return pointer;
+	}
+
+	/**
+	 * This is a helper method that resets the long links of count consecutive nodes starting
+	 * at the given one, with a second pointer running 8 nodes ahead on the short links.
+	 */
+	private void relink(int from, int fromIndex, int count) {
+		int lead = from;
+		for (int i = 0; i < STRIDE && lead != NIL; i++) {
+			if (fromIndex + i < STRIDE) {
+				link(lead, PREV_LONG, NIL);
+			}
+			lead = link(lead, NEXT_SHORT);
+		}
+
+		for (int i = 0; i < count && from != NIL; i++) {
+			link(from, NEXT_LONG, lead);
+			if (lead != NIL) {
+				link(lead, PREV_LONG, from);
+				lead = link(lead, NEXT_SHORT);
+			}
+			from = link(from, NEXT_SHORT);
+		}
+	}
+
+	/**
+	 * This is a helper method that hands out a slot for a new node with no links, reusing a
+	 * freed slot when there is one and mapping another chunk of the file when all are used.
+	 * The slot is only taken once the codec has written the element, so an element the codec
+	 * rejects leaves the list as it was.
+	 */
+	private int allocate(E element) {
+		int node = free;
+		if (node == NIL) {
+			if (used == chunkCount * CHUNK_SLOTS) {
+				if (chunkCount == Integer.MAX_VALUE >>> CHUNK_BITS) {
+					throw new IllegalStateException("List is full");
+				}
+				map();
+			}
+			node = used;
+		}
+		MappedByteBuffer chunk = chunks[node >>> CHUNK_BITS];
+		int offset = offset(node);
+		codec.write(chunk, offset + ELEMENT, element);
+		if (node == free) {
+			free = chunk.getInt(offset + NEXT_SHORT);
+		}
+		else {
+			used++;
+		}
+		chunk.putInt(offset + NEXT_SHORT, NIL);
+		chunk.putInt(offset + PREV_SHORT, NIL);
+		chunk.putInt(offset + NEXT_LONG, NIL);
+		chunk.putInt(offset + PREV_LONG, NIL);
+		return node;
+	}
+
+	private void release(int node) {
+		link(node, NEXT_SHORT, free);
+		free = node;
+	}
+
+	/**
+	 * This is a helper method that maps the next chunk of the file, growing the file if it
+	 * ends before the chunk does.
+	 */
+	private void map() {
+		if (chunkCount == chunks.length) {
+			chunks = Arrays.copyOf(chunks, chunks.length * 2);
+		}
+		long chunkBytes = (long) CHUNK_SLOTS * width;
+		try {
+			chunks[chunkCount] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER + chunkCount * chunkBytes, chunkBytes);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Cannot map more of the list file", e);
+		}
+		chunkCount++;
+	}
+
+	/**
+	 * This is a helper method that writes the fields describing the list through to the header.
+	 */
+	private void store() {
+		header.putInt(SIZE_AT, size);
+		header.putInt(HEAD_AT, head);
+		header.putInt(TAIL_AT, tail);
+		header.putInt(USED_AT, used);
+		header.putInt(FREE_AT, free);
+	}
+
+	private int offset(int node) {
+		return (node & (CHUNK_SLOTS - 1)) * width;
+	}
+
+	private int link(int node, int field) {
+		return chunks[node >>> CHUNK_BITS].getInt(offset(node) + field);
+	}
+
+	private void link(int node, int field, int value) {
+		chunks[node >>> CHUNK_BITS].putInt(offset(node) + field, value);
+	}
+
+	private E element(int node) {
+		return codec.read(chunks[node >>> CHUNK_BITS], offset(node) + ELEMENT);
+	}
+}
@@ -0,0 +1,125 @@
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.runners.MethodSorters;
+import org.junit.Test;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MappedExpressListUnitTester {
+
+	private Path file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = Files.createTempFile("mapped-express-list", ".bin");
+		Files.delete(file);
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void addRemoveTester_10_pts() throws IOException {
+		try (MappedExpressLinkedList<String> list = MappedExpressLinkedList.open(file, ElementCodec.utf8(10))){
+			try{
+				list.add(1, "0");
+				fail("Exception was to be thrown");
+			}catch (IndexOutOfBoundsException e){
+				//OK
+			}
+			try{
+				list.remove(0);
+				fail("Exception was to be thrown");
+			}catch (IndexOutOfBoundsException e){
+				//OK
+			}
+			list.add(0, "0");
+			list.add(0, "1");
+			list.add(1, "2");
+			list.add("3");
+			assertEquals("[1, 2, 0, 3]", list.toString());
+			assertEquals("2", list.remove(1));
+			assertEquals("0", list.set(1, "zero"));
+			assertEquals("[1, zero, 3]", list.toString());
+			try{
+				list.add("eleven byte");
+				fail("Exception was to be thrown");
+			}catch (IllegalArgumentException e){
+				//OK
+			}
+			list.clear();
+			assertTrue(list.isEmpty());
+			assertEquals("[]", list.toString());
+		}
+	}
+
+	@Test
+	public void randomDifferential_25_pts() throws IOException {
+		try (MappedExpressLinkedList<Integer> list = MappedExpressLinkedList.open(file, ElementCodec.INT)){
+			ExpressListUnitTester.randomDifferential(list, 20000);
+		}
+	}
+
+	@Test
+	public void reopenTester_10_pts() throws IOException {
+		// Enough elements to map several chunks, with some slots freed and reused
+		List <Long> list1 = new ArrayList<>();
+		try (MappedExpressLinkedList<Long> list2 = MappedExpressLinkedList.open(file, ElementCodec.LONG)){
+			for (long i = 0; i < 200_000; i++){
+				list1.add(i);
+				list2.add(i);
+			}
+			Random rnd = new Random(5);
+			for (int i = 0; i < 2000; i++){
+				int position = rnd.nextInt(list1.size());
+				assertEquals(list1.remove(position), list2.remove(position));
+				position = rnd.nextInt(list1.size());
+				list1.add(position, -1L - i);
+				list2.add(position, -1L - i);
+			}
+		}
+
+		try (MappedExpressLinkedList<Long> list2 = MappedExpressLinkedList.open(file, ElementCodec.LONG)){
+			assertEquals(list1.size(), list2.size());
+			for (int i = 0; i < list1.size(); i += 97){
+				assertEquals("reopenTester_10_pts: get(" + i + ")", list1.get(i), list2.get(i));
+			}
+			Iterator <Long> iterator = list2.iterator();
+			for (Long value : list1){
+				assertEquals(value, iterator.next());
+			}
+			assertFalse(iterator.hasNext());
+
+			// Removing through the iterator, then appending into the freed slots
+			iterator = list2.iterator();
+			while (iterator.hasNext()){
+				if (iterator.next() % 3 == 0){
+					iterator.remove();
+				}
+			}
+			list1.removeIf(value -> value % 3 == 0);
+			list1.add(7L);
+			list2.add(7L);
+			assertEquals(list1, list2);
+		}
+
+		try{
+			MappedExpressLinkedList.open(file, ElementCodec.INT).close();
+			fail("Exception was to be thrown");
+		}catch (IOException e){
+			//OK
+		}
+	}
+}
@@ -0,0 +1,124 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.FixMethodOrder;
+import org.junit.runners.MethodSorters;
+import org.junit.Test;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PrimitiveExpressListUnitTester {
+
+	@Test
+	public void intBoundsTester_5_pts() {
+		IntExpressLinkedList list = new IntExpressLinkedList();
+		try{
+			list.addInt(1, 0);
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+		try{
+			list.removeAt(0);
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+		assertTrue(list.isEmpty());
+		assertEquals("[]", list.toString());
+	}
+
+	@Test
+	public void intRandomDifferential_20_pts(){
+		Random rnd = new Random(11);
+		List <Integer> list1 = new ArrayList<>();
+		IntExpressLinkedList list2 = new IntExpressLinkedList();
+		for (int i = 0; i < 30000; i++){
+			double op = rnd.nextDouble();
+			if (op < 0.3){
+				list1.add(i);
+				list2.addInt(i);
+			}
+			else if (op < 0.6){
+				int position = rnd.nextInt(list1.size()+1);
+				list1.add(position, i);
+				list2.addInt(position, i);
+			}
+			else if (op < 0.8){
+				if (list1.size() > 0){
+					int position = rnd.nextInt(list1.size());
+					assertEquals((int) list1.remove(position), list2.removeAt(position));
+				}
+			}
+			else if (op < 0.9){
+				if (list1.size() > 0){
+					int position = rnd.nextInt(list1.size());
+					assertEquals((int) list1.set(position, -i), list2.setInt(position, -i));
+				}
+			}
+			else if (list1.size() > 0){
+				int position = rnd.nextInt(list1.size());
+				assertEquals((int) list1.get(position), list2.getInt(position));
+			}
+			assertEquals(list1.size(), list2.size());
+		}
+
+		int[] values = list2.toArray();
+		for (int i = 0; i < list1.size(); i++){
+			assertEquals((int) list1.get(i), list2.getInt(i));
+			assertEquals((int) list1.get(i), values[i]);
+		}
+		assertEquals(list1.toString(), list2.toString());
+
+		list2.clear();
+		assertEquals(0, list2.size());
+		list2.addInt(5);
+		assertEquals(5, list2.getInt(0));
+	}
+
+	@Test
+	public void longRandomDifferential_20_pts(){
+		Random rnd = new Random(13);
+		List <Long> list1 = new ArrayList<>();
+		LongExpressLinkedList list2 = new LongExpressLinkedList();
+		for (int i = 0; i < 30000; i++){
+			long value = (long) i << 33;
+			double op = rnd.nextDouble();
+			if (op < 0.3){
+				list1.add(value);
+				list2.addLong(value);
+			}
+			else if (op < 0.6){
+				int position = rnd.nextInt(list1.size()+1);
+				list1.add(position, value);
+				list2.addLong(position, value);
+			}
+			else if (op < 0.8){
+				if (list1.size() > 0){
+					int position = rnd.nextInt(list1.size());
+					assertEquals((long) list1.remove(position), list2.removeAt(position));
+				}
+			}
+			else if (op < 0.9){
+				if (list1.size() > 0){
+					int position = rnd.nextInt(list1.size());
+					assertEquals((long) list1.set(position, -value), list2.setLong(position, -value));
+				}
+			}
+			else if (list1.size() > 0){
+				int position = rnd.nextInt(list1.size());
+				assertEquals((long) list1.get(position), list2.getLong(position));
+			}
+			assertEquals(list1.size(), list2.size());
+		}
+
+		long[] values = list2.toArray();
+		for (int i = 0; i < list1.size(); i++){
+			assertEquals((long) list1.get(i), list2.getLong(i));
+			assertEquals((long) list1.get(i), values[i]);
+		}
+		assertEquals(list1.toString(), list2.toString());
+	}
+}
@@ -0,0 +1,812 @@
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Unrolled variant of the quadruply-linked list.
+ * Each node is a block holding up to 16 elements in a small array, and the short and long links
+ * join blocks instead of single elements, with every long link reaching 8 blocks ahead. Since
+ * blocks are not all full, a block also records its span, the number of elements from its start
+ * to the start of the block its long link points at. Lookups take the long links while the span
+ * does not overshoot, then the short links, then index into the block's array.
+ *
+ * Compared to {@code ExpressLinkedList} this allocates one block per 8 to 16 elements rather than
+ * one node per element, and neighbouring elements share a cache line. Adding at either end
+ * stays constant time.
+ *
+ * @author Ariyan Sahebghalam, Eyosyas Andarge, Sadiq Azmi
+ * @param <E> elements type held in this collection
+ */
+public class UnrolledExpressLinkedList<E> implements List<E> {
+
+	// Most elements a block holds
+	private static final int BLOCK = 16;
+
+	private static class Block<E> {
+		final Object[] items = new Object[BLOCK];
+		int count;
+		int span;
+		Block<E> nextShort;
+		Block<E> prevShort;
+		Block<E> nextLong;
+		Block<E> prevLong;
+	}
+
+	/**
+	 * Block found by locate() together with the position of the index within it. Returned as a
+	 * new object rather than kept in a field, so lookups on several threads never share it.
+	 */
+	private static class Position<E> {
+		final Block<E> block;
+		final int offset;
+
+		Position(Block<E> block, int offset) {
+			this.block = block;
+			this.offset = offset;
+		}
+	}
+
+	private Block<E> head;
+
+	private Block<E> tail;
+
+	private int size;
+
+	// Number of structural changes, checked by iterators to fail fast on concurrent modification
+	private int modCount;
+
+	/**
+	 * Constructor that creates an empty list
+	 */
+	public UnrolledExpressLinkedList() {
+		size = 0;
+	}
+
+	/**
+	 * Appends a given Object to the end of the list, in the tail block while it has room,
+	 * otherwise in a new block after it.
+	 * @param e This is the given item, it should be of the correct generic type
+	 * @return Returns true if the element was added correctly, false otherwise.
+	 */
+	@Override
+	public boolean add(E e) {
+		if (tail == null || tail.count == BLOCK) {
+			linkAfter(new Block<>(), tail);
+		}
+		tail.items[tail.count++] = e;
+		size++;
+		modCount++;
+		repair(tail);
+		return true;
+	}
+
+	/**
+	 * Inserts the specified element at the given index position in the list, shifting the
+	 * element at that index and its following elements one position to the right. A full
+	 * block is split in two halves first.
+	 *
+	 * @param index The index at which the element must be inserted
+	 * @param element The element to be inserted into the specified index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	@Override
+	public void add(int index, E element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (index == size) {
+			add(element);
+			return;
+		}
+
+		Position<E> position = locate(index);
+		Block<E> block = position.block;
+		int at = position.offset;
+		Block<E> last = block;
+		if (block.count == BLOCK) {
+			Block<E> split = new Block<>();
+			linkAfter(split, block);
+			System.arraycopy(block.items, BLOCK / 2, split.items, 0, BLOCK / 2);
+			for (int i = BLOCK / 2; i < BLOCK; i++) {
+				block.items[i] = null;
+			}
+			block.count = BLOCK / 2;
+			split.count = BLOCK / 2;
+			if (at > BLOCK / 2) {
+				block = split;
+				at -= BLOCK / 2;
+			}
+			last = split;
+		}
+
+		System.arraycopy(block.items, at, block.items, at + 1, block.count - at);
+		block.items[at] = element;
+		block.count++;
+		size++;
+		modCount++;
+		repair(last);
+	}
+
+	/**
+	 * Remove an item from the list at the given index, shifting the following elements one
+	 * position to the left. A block that becomes empty is unlinked, and a block that drops
+	 * below a quarter full absorbs its successor when both fit in one block.
+	 *
+	 * @param index Index of the element to be removed
+	 * @return The element given by the index that was supposed to be removed
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Position<E> position = locate(index);
+		Block<E> block = position.block;
+		int offset = position.offset;
+		E data = elementAt(block.items, offset);
+		System.arraycopy(block.items, offset + 1, block.items, offset, block.count - offset - 1);
+		block.items[--block.count] = null;
+		size--;
+		modCount++;
+
+		if (block.count == 0) {
+			Block<E> prev = block.prevShort;
+			unlink(block);
+			if (head != null) {
+				repair(prev != null ? prev : head);
+			}
+		}
+		else {
+			Block<E> next = block.nextShort;
+			if (block.count < BLOCK / 4 && next != null && block.count + next.count <= BLOCK) {
+				System.arraycopy(next.items, 0, block.items, block.count, next.count);
+				block.count += next.count;
+				unlink(next);
+			}
+			repair(block);
+		}
+		return data;
+	}
+
+	/**
+	 * Returns the element at the given index in the list.
+	 *
+	 * @param index Index of the element to be returned
+	 * @return Returns the element corresponding to the given index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		Position<E> position = locate(index);
+		return elementAt(position.block.items, position.offset);
+	}
+
+	/**
+	 * Replaces the element at the given index in the list.
+	 *
+	 * @param index Index of the element to be replaced
+	 * @param element The new element
+	 * @return The element previously at the index
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than or equal to size
+	 */
+	@Override
+	public E set(int index, E element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		Position<E> position = locate(index);
+		E old = elementAt(position.block.items, position.offset);
+		position.block.items[position.offset] = element;
+		return old;
+	}
+
+	/**
+	 * Returns the size of the list, meaning how many elements are in the list.
+	 *
+	 * @return The integer number of elements in the list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Empties the list after the call and makes the size 0
+	 */
+	@Override
+	public void clear() {
+		head = null;
+		tail = null;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Appends all the elements of the given collection to the end of the list, in the order of
+	 * its toArray().
+	 *
+	 * @param c The collection whose elements are appended
+	 * @return Returns true if the list changed, false if the collection was empty
+	 */
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		Object[] elements = c.toArray();
+		for (int i = 0; i < elements.length; i++) {
+			add(elementAt(elements, i));
+		}
+		return elements.length > 0;
+	}
+
+	/**
+	 * Inserts the elements of the given collection at the given index, in the order of its
+	 * toArray(), shifting the element at that index and its following elements to the right.
+	 *
+	 * @param index The index at which the first element is inserted
+	 * @param c The collection whose elements are inserted
+	 * @return Returns true if the list changed, false if the collection was empty
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		Object[] elements = c.toArray();
+		for (int i = 0; i < elements.length; i++) {
+			add(index + i, elementAt(elements, i));
+		}
+		return elements.length > 0;
+	}
+
+	/**
+	 * Returns the elements of the list in order in a new array, copied a block at a time.
+	 *
+	 * @return An array of length size holding the elements of the list
+	 */
+	@Override
+	public Object[] toArray() {
+		Object[] result = new Object[size];
+		copyInto(result);
+		return result;
+	}
+
+	/**
+	 * Returns the elements of the list in order in the given array if they fit, otherwise in a
+	 * new array of the same runtime type, copied a block at a time. If the given array is
+	 * longer than the list, the element after the last one is set to null.
+	 *
+	 * @param a The array to fill, or whose type the new array gets
+	 * @return An array holding the elements of the list
+	 * @throws ArrayStoreException In case an element does not fit the type of the array
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T[] toArray(T[] a) {
+		T[] result = a.length >= size ? a
+				: (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+		copyInto(result);
+		if (result.length > size) {
+			result[size] = null;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		for (Object o : c) {
+			if (!contains(o)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given element, or -1 if there is none,
+	 * scanning the blocks from the head.
+	 *
+	 * @param o The element to look for
+	 * @return The index of its first occurrence, or -1
+	 */
+	@Override
+	public int indexOf(Object o) {
+		int start = 0;
+		for (Block<E> block = head; block != null; block = block.nextShort) {
+			for (int i = 0; i < block.count; i++) {
+				if (Objects.equals(o, block.items[i])) {
+					return start + i;
+				}
+			}
+			start += block.count;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the last occurrence of the given element, or -1 if there is none,
+	 * scanning the blocks back from the tail.
+	 *
+	 * @param o The element to look for
+	 * @return The index of its last occurrence, or -1
+	 */
+	@Override
+	public int lastIndexOf(Object o) {
+		int start = size;
+		for (Block<E> block = tail; block != null; block = block.prevShort) {
+			start -= block.count;
+			for (int i = block.count - 1; i >= 0; i--) {
+				if (Objects.equals(o, block.items[i])) {
+					return start + i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Removes the first occurrence of the given element, if there is one.
+	 *
+	 * @param o The element to be removed
+	 * @return True if the list held the element
+	 */
+	@Override
+	public boolean remove(Object o) {
+		int index = indexOf(o);
+		if (index < 0) {
+			return false;
+		}
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return removeMatching(c, true);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		return removeMatching(c, false);
+	}
+
+	/**
+	 * Returns an iterator over the elements of the list in order, reading each block's array
+	 * before moving on along the short links.
+	 *
+	 * @return An iterator that starts at the head of the list
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new ListItr(0);
+	}
+
+	@Override
+	public ListIterator<E> listIterator() {
+		return new ListItr(0);
+	}
+
+	/**
+	 * Returns a fail-fast list iterator that starts at the given index. Moving it reads the
+	 * blocks' arrays along the short links. Adding and removing through it go through
+	 * add(int, E) and remove(int), since they may split, merge or unlink blocks, and then find
+	 * the iterator's position again.
+	 *
+	 * @param index The index of the element the first call to next() returns
+	 * @return A list iterator over the list
+	 * @throws IndexOutOfBoundsException In case the index given is less than 0 or bigger than size
+	 */
+	@Override
+	public ListIterator<E> listIterator(int index) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return new ListItr(index);
+	}
+
+	/**
+	 * List iterator over the blocks. block and at give the position of the element next()
+	 * returns, with block null at the end of the list.
+	 */
+	private class ListItr implements ListIterator<E> {
+		private Block<E> block;
+		private int at;
+		private int nextIndex;
+		private int lastReturned = -1;
+		private int expectedModCount = modCount;
+
+		ListItr(int index) {
+			nextIndex = index;
+			seek();
+		}
+
+		private void seek() {
+			if (nextIndex < size) {
+				Position<E> position = locate(nextIndex);
+				block = position.block;
+				at = position.offset;
+			}
+			else {
+				block = null;
+				at = 0;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < size;
+		}
+
+		@Override
+		public E next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			E element = elementAt(block.items, at++);
+			lastReturned = nextIndex++;
+			if (at == block.count) {
+				block = block.nextShort;
+				at = 0;
+			}
+			return element;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		@Override
+		public E previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			if (block == null) {
+				block = tail;
+				at = tail.count;
+			}
+			if (at == 0) {
+				block = block.prevShort;
+				at = block.count;
+			}
+			lastReturned = --nextIndex;
+			return elementAt(block.items, --at);
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			checkForComodification();
+			UnrolledExpressLinkedList.this.remove(lastReturned);
+			if (lastReturned < nextIndex) {
+				nextIndex--;
+			}
+			lastReturned = -1;
+			expectedModCount = modCount;
+			seek();
+		}
+
+		@Override
+		public void set(E e) {
+			if (lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			checkForComodification();
+			UnrolledExpressLinkedList.this.set(lastReturned, e);
+		}
+
+		@Override
+		public void add(E e) {
+			checkForComodification();
+			UnrolledExpressLinkedList.this.add(nextIndex++, e);
+			lastReturned = -1;
+			expectedModCount = modCount;
+			seek();
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * Returns a view of the elements from index fromIndex up to but not including index
+	 * toIndex. Changes made through the view show in this list and the other way round, except
+	 * that structural changes made to this list directly invalidate the view.
+	 *
+	 * @param fromIndex The index of the first element of the view
+	 * @param toIndex The index after the last element of the view
+	 * @return A list view of the range
+	 * @throws IndexOutOfBoundsException In case the indices are out of order or out of the list
+	 */
+	@Override
+	public List<E> subList(int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException();
+		}
+		return new SubList(fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * View of a range of the list, returned by subList(). Its reads and changes go through the
+	 * list at the view's offset.
+	 */
+	private class SubList extends AbstractList<E> {
+		private final int offset;
+		private int size;
+		private int expectedModCount = UnrolledExpressLinkedList.this.modCount;
+
+		SubList(int offset, int size) {
+			this.offset = offset;
+			this.size = size;
+		}
+
+		@Override
+		public E get(int index) {
+			check(index, size);
+			return UnrolledExpressLinkedList.this.get(offset + index);
+		}
+
+		@Override
+		public E set(int index, E element) {
+			check(index, size);
+			return UnrolledExpressLinkedList.this.set(offset + index, element);
+		}
+
+		@Override
+		public void add(int index, E element) {
+			check(index, size + 1);
+			UnrolledExpressLinkedList.this.add(offset + index, element);
+			changed(1);
+		}
+
+		@Override
+		public E remove(int index) {
+			check(index, size);
+			E element = UnrolledExpressLinkedList.this.remove(offset + index);
+			changed(-1);
+			return element;
+		}
+
+		@Override
+		public int size() {
+			check(0, 1);
+			return size;
+		}
+
+		private void check(int index, int bound) {
+			if (UnrolledExpressLinkedList.this.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (index < 0 || index >= bound) {
+				throw new IndexOutOfBoundsException();
+			}
+		}
+
+		private void changed(int delta) {
+			size += delta;
+			expectedModCount = UnrolledExpressLinkedList.this.modCount;
+			modCount++;
+		}
+	}
+
+	/**
+	 * Returns a String representation of the list.
+	 *
+	 * @return String representation of the list
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("[");
+		for (Block<E> block = head; block != null; block = block.nextShort) {
+			for (int i = 0; i < block.count; i++) {
+				sb.append(block.items[i].toString());
+				if (i < block.count - 1 || block.nextShort != null) {
+					sb.append(", ");
+				}
+			}
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+	/**
+	 * This is a helper method that returns the block holding the given index together with the
+	 * position of the index within that block. It starts from whichever end of the list is
+	 * closer, takes the long links while their span does not overshoot, and finishes on the
+	 * short links.
+	 */
+	private Position<E> locate(int index) {
+		Block<E> block;
+		int start;
+		if (index < size / 2) {
+			block = head;
+			start = 0;
+
+			// Express route
+			while (block.nextLong != null && start + block.span <= index) {
+				start += block.span;
+				block = block.nextLong;
+			}
+
+			// Normal route
+			while (start + block.count <= index) {
+				start += block.count;
+				block = block.nextShort;
+			}
+		}
+		else {
+			block = tail;
+			start = size - tail.count;
+
+			// Express route
+			while (block.prevLong != null && start - block.prevLong.span > index) {
+				start -= block.prevLong.span;
+				block = block.prevLong;
+			}
+
+			// Normal route
+			while (start > index) {
+				block = block.prevShort;
+				start -= block.count;
+			}
+		}
+		return new Position<>(block, index - start);
+	}
+
+	/**
+	 * This is a helper method that resets the long links and spans of the blocks that can reach
+	 * the given block, after its count changed or a block next to it was added or removed. It
+	 * walks back 8 blocks once, then moves forward with a second pointer 8 blocks ahead and a
+	 * running count of the elements between the two.
+	 *
+	 * @param last The last block whose long link and span are reset
+	 */
+	private void repair(Block<E> last) {
+		Block<E> from = last;
+		for (int i = 0; i < 8 && from.prevShort != null; i++) {
+			from = from.prevShort;
+		}
+
+		// Blocks among the first 8 have nothing 8 blocks behind them
+		boolean fromHead = from.prevShort == null;
+		Block<E> lead = from;
+		int span = 0;
+		for (int i = 0; i < 8 && lead != null; i++) {
+			if (fromHead) {
+				lead.prevLong = null;
+			}
+			span += lead.count;
+			lead = lead.nextShort;
+		}
+
+		for (Block<E> block = from; ; block = block.nextShort) {
+			block.nextLong = lead;
+			block.span = span;
+			span -= block.count;
+			if (lead != null) {
+				lead.prevLong = block;
+				span += lead.count;
+				lead = lead.nextShort;
+			}
+			if (block == last) {
+				break;
+			}
+		}
+	}
+
+	private void linkAfter(Block<E> block, Block<E> prev) {
+		block.prevShort = prev;
+		if (prev == null) {
+			head = block;
+			tail = block;
+			return;
+		}
+		block.nextShort = prev.nextShort;
+		prev.nextShort = block;
+		if (block.nextShort == null) {
+			tail = block;
+		}
+		else {
+			block.nextShort.prevShort = block;
+		}
+	}
+
+	private void unlink(Block<E> block) {
+		Block<E> prev = block.prevShort;
+		Block<E> next = block.nextShort;
+		if (prev == null) {
+			head = next;
+		}
+		else {
+			prev.nextShort = next;
+		}
+		if (next == null) {
+			tail = prev;
+		}
+		else {
+			next.prevShort = prev;
+		}
+	}
+
+	/**
+	 * This is a helper method that copies the elements into the start of the given array, a
+	 * block at a time.
+	 */
+	private void copyInto(Object[] result) {
+		int start = 0;
+		for (Block<E> block = head; block != null; block = block.nextShort) {
+			System.arraycopy(block.items, 0, result, start, block.count);
+			start += block.count;
+		}
+	}
+
+	/**
+	 * This is a helper method that removes every element for which the collection's contains()
+	 * gives the wanted answer. The kept elements are gathered in one pass and appended to the
+	 * emptied list again, which refills the blocks and rebuilds the long links as it goes.
+	 */
+	private boolean removeMatching(Collection<?> c, boolean contained) {
+		Objects.requireNonNull(c);
+		Object[] kept = new Object[size];
+		int count = 0;
+		for (Block<E> block = head; block != null; block = block.nextShort) {
+			for (int i = 0; i < block.count; i++) {
+				if (c.contains(block.items[i]) != contained) {
+					kept[count++] = block.items[i];
+				}
+			}
+		}
+		if (count == size) {
+			return false;
+		}
+		clear();
+		for (int i = 0; i < count; i++) {
+			add(elementAt(kept, i));
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> E elementAt(Object[] elements, int index) {
+		return (E) elements[index];
+	}
+
+}
@@ -0,0 +1,148 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.FixMethodOrder;
+import org.junit.runners.MethodSorters;
+import org.junit.Test;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class UnrolledExpressListUnitTester {
+
+	@Test
+	public void addTester_10_pts() {
+		List<String> list = new UnrolledExpressLinkedList<>();
+		try{
+			list.add(1, "0");
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+		list.add(0, "0");
+		list.add(0, "1");
+		list.add(1, "2");
+		assertEquals("[1, 2, 0]", list.toString());
+	}
+
+	@Test
+	public void removeTester_10_pts() {
+		List<String> list = new UnrolledExpressLinkedList<>();
+		try{
+			list.remove(0);
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+		list.add("1"); list.add("2"); list.add("3");
+		assertEquals("2", list.remove(1));
+		assertEquals(2, list.size());
+		assertEquals("[1, 3]", list.toString());
+	}
+
+	@Test
+	public void getClearTester_10_pts() {
+		List<String> list = new UnrolledExpressLinkedList<>();
+		assertEquals("[]", list.toString());
+		list.add("0"); list.add("1");
+		assertEquals("1", list.get(1));
+		list.clear();
+		assertEquals(0, list.size());
+		try{
+			list.get(0);
+			fail("Exception was to be thrown");
+		}catch (IndexOutOfBoundsException e){
+			//OK
+		}
+	}
+
+	@Test
+	public void randomDifferential_25_pts(){
+		ExpressListUnitTester.randomDifferential(new UnrolledExpressLinkedList<>(), 60000);
+	}
+
+	@Test
+	public void addAllTester_10_pts(){
+		ExpressListUnitTester.addAllDifferential(new UnrolledExpressLinkedList<>());
+		ExpressListUnitTester.addAllIndexDifferential(new UnrolledExpressLinkedList<>());
+	}
+
+	@Test
+	public void listIteratorDifferential_10_pts(){
+		ExpressListUnitTester.listIteratorDifferential(new UnrolledExpressLinkedList<>());
+		ExpressListUnitTester.iteratorFailFast(new UnrolledExpressLinkedList<>());
+	}
+
+	@Test
+	public void sequentialTester_10_pts(){
+		ExpressListUnitTester.fingerSequential(new UnrolledExpressLinkedList<>());
+	}
+
+	@Test
+	public void concurrentReadTester_10_pts() throws Exception {
+		ExpressListUnitTester.concurrentRead(new UnrolledExpressLinkedList<>());
+	}
+
+	@Test
+	public void searchTester_10_pts(){
+		ExpressListUnitTester.searchDifferential(new UnrolledExpressLinkedList<>());
+	}
+
+	@Test
+	public void subListTester_10_pts(){
+		ExpressListUnitTester.subListDifferential(new UnrolledExpressLinkedList<>());
+	}
+
+	@Test
+	public void toArraySortTester_10_pts(){
+		Random rnd = new Random(9);
+		List <Integer> list1 = new ArrayList<>();
+		List <Integer> list2 = new UnrolledExpressLinkedList<>();
+		// Random inserts leave blocks partly full
+		for (int i = 0; i < 10_000; i++){
+			int position = rnd.nextInt(list1.size() + 1);
+			Integer value = rnd.nextInt(1000);
+			list1.add(position, value);
+			list2.add(position, value);
+		}
+		assertArrayEquals(list1.toArray(), list2.toArray());
+		assertArrayEquals(list1.toArray(new Integer[0]), list2.toArray(new Integer[0]));
+		Integer[] larger = new Integer[list1.size() + 2];
+		larger[list1.size()] = -1;
+		assertSame(larger, list2.toArray(larger));
+		assertNull(larger[list1.size()]);
+		list1.sort(null);
+		list2.sort(null);
+		assertEquals(list1, list2);
+		assertEquals(list1.toString(), list2.toString());
+	}
+
+	@Test
+	public void shrinkAndRegrow_10_pts(){
+		Random rnd = new Random(5);
+		List <Integer> list1 = new ArrayList<>();
+		List <Integer> list2 = new UnrolledExpressLinkedList<>();
+		for (int i = 0; i < 5000; i++){
+			list1.add(i);
+			list2.add(i);
+		}
+		// drain to empty so blocks are merged and unlinked, then refill from the front
+		while (!list1.isEmpty()){
+			int position = rnd.nextInt(list1.size());
+			assertEquals(list1.remove(position), list2.remove(position));
+		}
+		assertEquals("[]", list2.toString());
+		for (int i = 0; i < 3000; i++){
+			list1.add(0, i);
+			list2.add(0, i);
+		}
+		int i = 0;
+		for (Integer value : list2){
+			assertEquals(list1.get(i++), value);
+		}
+		for (i = 0; i < list1.size(); i++){
+			assertEquals(list1.get(i), list2.get(i));
+		}
+	}
+}
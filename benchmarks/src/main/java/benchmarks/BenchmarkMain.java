@@ -0,0 +1,24 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmark jar. It hands the arguments to the JMH command line, writing the
+ * results as JSON to jmh-result.json unless a result format is given with -rf.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add(0, "-rf");
+            options.add(1, "json");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of one list shared by all benchmark threads, for the concurrent express list and a
+ * synchronized express list, at a given share of writes. A write inserts at a random position and
+ * removes at another, so the size stays within the thread count of its starting value and every
+ * position drawn below the starting size stays valid.
+ * The thread count is chosen on the command line with -t, see the README.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+
+    @Param({"ConcurrentExpressLinkedList", "synchronized:ExpressLinkedList"})
+    public String impl;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"0", "10", "50"})
+    public int writePercent;
+
+    private List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = Lists.filled(impl, size);
+    }
+
+    /**
+     * Random positions of one benchmark thread, cycled through so no random numbers are drawn
+     * inside the benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Positions {
+        private int[] positions;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(ContentionBenchmark benchmark) {
+            SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+            positions = new int[4096];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = random.nextInt(benchmark.size);
+            }
+        }
+
+        int next() {
+            int position = positions[next];
+            next = (next + 1) & (positions.length - 1);
+            return position;
+        }
+    }
+
+    @Benchmark
+    public Integer mixed(Positions positions) {
+        int position = positions.next();
+        if (position % 100 < writePercent) {
+            list.add(position, -1);
+            return list.remove(positions.next());
+        }
+        return list.get(position);
+    }
+}
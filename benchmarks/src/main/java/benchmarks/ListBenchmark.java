@@ -0,0 +1,123 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Positional get, add and remove at the head, middle and tail of the list, a random mix of the
+ * three, and a full iteration, for the express lists and the java.util baselines.
+ * Every mutating benchmark adds and then removes an element so the size stays fixed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListBenchmark {
+
+    @Param({"ExpressLinkedList", "ExpressLinkedList.multiLevel", "ExpressLinkedList.adaptive",
+            "UnrolledExpressLinkedList",
+            "LinkedList", "ArrayList"})
+    public String impl;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private List<Integer> list;
+
+    // Random positions, cycled through so no random numbers are drawn inside the benchmarks
+    private int[] positions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = Lists.filled(impl, size);
+        SplittableRandom random = new SplittableRandom(42);
+        positions = new int[4096];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextInt(size);
+        }
+    }
+
+    private int nextPosition() {
+        int position = positions[next];
+        next = (next + 1) & (positions.length - 1);
+        return position;
+    }
+
+    @Benchmark
+    public Integer getHead() {
+        return list.get(0);
+    }
+
+    @Benchmark
+    public Integer getMiddle() {
+        return list.get(size / 2);
+    }
+
+    @Benchmark
+    public Integer getTail() {
+        return list.get(size - 1);
+    }
+
+    @Benchmark
+    public Integer getRandom() {
+        return list.get(nextPosition());
+    }
+
+    @Benchmark
+    public Integer addRemoveHead() {
+        list.add(0, -1);
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Integer addRemoveMiddle() {
+        list.add(size / 2, -1);
+        return list.remove(size / 2);
+    }
+
+    @Benchmark
+    public Integer addRemoveTail() {
+        list.add(-1);
+        return list.remove(size);
+    }
+
+    /**
+     * Three in four calls are a get, the rest insert and then remove, all at random positions.
+     */
+    @Benchmark
+    public Integer randomMix() {
+        int position = nextPosition();
+        switch (position & 3) {
+            case 0:
+                list.add(position, -1);
+                return list.remove(position);
+            default:
+                return list.get(position);
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer value : list) {
+            blackhole.consume(value);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Creates the list implementations under test by name.
+ * The express lists live in the default package, which code in a named package cannot refer
+ * to, so they are created reflectively and then only used through the {@code List} interface,
+ * the same way the baselines are.
+ */
+final class Lists {
+
+    private Lists() {
+    }
+
+    /**
+     * Creates an empty list.
+     *
+     * @param impl "ArrayList", "LinkedList", the name of a list class at the repository root
+     *             such as "ExpressLinkedList", or such a name followed by ".factory" to call one
+     *             of its static factories, for example "ExpressLinkedList.multiLevel". Any of
+     *             these prefixed with "synchronized:" is wrapped in Collections.synchronizedList
+     * @return A new empty list
+     */
+    @SuppressWarnings("unchecked")
+    static <E> List<E> create(String impl) {
+        if (impl.startsWith("synchronized:")) {
+            return Collections.synchronizedList(create(impl.substring("synchronized:".length())));
+        }
+        switch (impl) {
+            case "ArrayList":
+                return new ArrayList<>();
+            case "LinkedList":
+                return new LinkedList<>();
+            default:
+                try {
+                    int dot = impl.indexOf('.');
+                    if (dot < 0) {
+                        return (List<E>) Class.forName(impl).getDeclaredConstructor().newInstance();
+                    }
+                    Class<?> type = Class.forName(impl.substring(0, dot));
+                    return (List<E>) type.getMethod(impl.substring(dot + 1)).invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalArgumentException("Unknown list implementation " + impl, e);
+                }
+        }
+    }
+
+    /**
+     * Creates a list holding the integers 0 to size - 1.
+     */
+    static List<Integer> filled(String impl, int size) {
+        List<Integer> list = create(impl);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
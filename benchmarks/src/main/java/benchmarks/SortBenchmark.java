@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to sort a list of random integers with {@code List.sort}. {@code ArrayList} sorts its
+ * backing array and {@code LinkedList} a copy from toArray() with {@code Arrays.sort}, while the
+ * express list merges its nodes along the short links and rebuilds the long links afterwards,
+ * without copying the elements out. Each sort is timed once, on a list refilled with the same
+ * random values before every call.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+    @Param({"ExpressLinkedList", "ArrayList", "LinkedList"})
+    public String impl;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private Integer[] values;
+
+    private List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUpValues() {
+        SplittableRandom random = new SplittableRandom(42);
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpList() {
+        list = Lists.create(impl);
+        for (Integer value : values) {
+            list.add(value);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> sort() {
+        list.sort(Comparator.naturalOrder());
+        return list;
+    }
+}